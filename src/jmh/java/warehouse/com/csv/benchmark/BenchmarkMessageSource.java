@@ -0,0 +1,20 @@
+package warehouse.com.csv.benchmark;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+import org.springframework.context.support.StaticMessageSource;
+
+/**
+ * Message source with a fixed set of error codes, see {@link #ERROR_CODES}.
+ */
+public class BenchmarkMessageSource extends StaticMessageSource {
+
+  public static final List<String> ERROR_CODES = IntStream.range(0, 10)
+      .mapToObj(code -> "csv.import.error." + code)
+      .toList();
+
+  public BenchmarkMessageSource() {
+    ERROR_CODES.forEach(code -> addMessage(code, Locale.getDefault(), "Message for " + code));
+  }
+}
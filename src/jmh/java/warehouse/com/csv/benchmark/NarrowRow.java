@@ -0,0 +1,24 @@
+package warehouse.com.csv.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import warehouse.com.csv.model.CsvRow;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class NarrowRow extends CsvRow {
+
+  private String name;
+  private String productGroup;
+  private String purchasePrice;
+  private String salePrice;
+  private String article;
+
+  @Override
+  public List<String> getRowValues() {
+    return new ArrayList<>(Arrays.asList(name, productGroup, purchasePrice, salePrice, article));
+  }
+}
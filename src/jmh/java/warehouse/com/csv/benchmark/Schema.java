@@ -0,0 +1,95 @@
+package warehouse.com.csv.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.apache.commons.lang3.StringUtils;
+import warehouse.com.csv.model.CsvRow;
+import warehouse.com.csv.plan.CsvImportPlan;
+
+/**
+ * Synthetic datasets used by the benchmarks. Values are deterministic, every 50th row contains a
+ * quoted cell with a comma and every 100th row a cell starting with a formula character.
+ */
+public enum Schema {
+
+  NARROW(NarrowRow.class, List.of("name", "productGroup", "purchasePrice", "salePrice",
+      "article")),
+  WIDE(WideRow.class, IntStream.rangeClosed(1, 20)
+      .mapToObj(column -> String.format("column%02d", column))
+      .toList());
+
+  private final Class<? extends CsvRow> rowClass;
+  private final List<String> fields;
+  private final List<String> headers;
+
+  Schema(Class<? extends CsvRow> rowClass, List<String> fields) {
+    this.rowClass = rowClass;
+    this.fields = fields;
+    this.headers = fields.stream().map(StringUtils::capitalize).toList();
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T extends CsvRow> Class<T> getRowClass() {
+    return (Class<T>) rowClass;
+  }
+
+  public List<String> getFields() {
+    return fields;
+  }
+
+  public List<String> getHeaders() {
+    return headers;
+  }
+
+  public String csv(int rows) {
+    StringBuilder csv = new StringBuilder(rows * fields.size() * 12);
+    csv.append(String.join(",", headers)).append('\n');
+    for (int row = 1; row <= rows; row++) {
+      for (int column = 0; column < fields.size(); column++) {
+        if (column > 0) {
+          csv.append(',');
+        }
+        String value = value(row, column);
+        if (value.indexOf(',') >= 0) {
+          csv.append('"').append(value).append('"');
+        } else {
+          csv.append(value);
+        }
+      }
+      csv.append('\n');
+    }
+    return csv.toString();
+  }
+
+  public List<CsvRow> entities(int rows) {
+    CsvImportPlan<? extends CsvRow> plan = CsvImportPlan.of(rowClass, fields);
+    List<CsvRow> entities = new ArrayList<>(rows);
+    List<String> values = new ArrayList<>(fields.size());
+    for (int row = 1; row <= rows; row++) {
+      values.clear();
+      for (int column = 0; column < fields.size(); column++) {
+        values.add(value(row, column));
+      }
+      CsvRow entity = plan.populate(values);
+      // the header occupies the first row
+      entity.setIndex(row + 1);
+      entities.add(entity);
+    }
+    return entities;
+  }
+
+  private static String value(int row, int column) {
+    if (column == 1 && row % 50 == 0) {
+      return "group " + row + ", special";
+    }
+    if (column == 2 && row % 100 == 0) {
+      return "=" + row + "+1";
+    }
+    return switch (column % 3) {
+      case 0 -> "item-" + row;
+      case 1 -> "group" + (row % 17);
+      default -> Integer.toString(row * 7 % 10_000) + "." + (row % 100);
+    };
+  }
+}
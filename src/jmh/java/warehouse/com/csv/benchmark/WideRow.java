@@ -0,0 +1,41 @@
+package warehouse.com.csv.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import warehouse.com.csv.model.CsvRow;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class WideRow extends CsvRow {
+
+  private String column01;
+  private String column02;
+  private String column03;
+  private String column04;
+  private String column05;
+  private String column06;
+  private String column07;
+  private String column08;
+  private String column09;
+  private String column10;
+  private String column11;
+  private String column12;
+  private String column13;
+  private String column14;
+  private String column15;
+  private String column16;
+  private String column17;
+  private String column18;
+  private String column19;
+  private String column20;
+
+  @Override
+  public List<String> getRowValues() {
+    return new ArrayList<>(Arrays.asList(column01, column02, column03, column04, column05,
+        column06, column07, column08, column09, column10, column11, column12, column13,
+        column14, column15, column16, column17, column18, column19, column20));
+  }
+}
@@ -0,0 +1,81 @@
+package warehouse.com.csv.common;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import warehouse.com.csv.benchmark.Schema;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CsvFileSplitterBenchmark {
+
+  @Param({"NARROW", "WIDE"})
+  private Schema schema;
+
+  @Param({"100000"})
+  private int rows;
+
+  private Path file;
+  private byte[] bytes;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    file = Files.createTempFile("split-benchmark", ".csv");
+    Files.writeString(file, schema.csv(rows));
+    bytes = Files.readAllBytes(file);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  @Benchmark
+  public CsvFileSplitter.Chunks split() throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return CsvFileSplitter.split(channel, '"', 64, 1 << 16);
+    }
+  }
+
+  @Benchmark
+  public int scanStructuralBytes() {
+    int found = 0;
+    for (int i = ByteScanner.indexOfEither(bytes, 0, bytes.length, (byte) '"', (byte) '\n');
+        i < bytes.length;
+        i = ByteScanner.indexOfEither(bytes, i + 1, bytes.length, (byte) '"', (byte) '\n')) {
+      found++;
+    }
+    return found;
+  }
+
+  @Benchmark
+  public int scanStructuralBytesScalar() {
+    int found = 0;
+    for (byte b : bytes) {
+      if (b == '"' || b == '\n') {
+        found++;
+      }
+    }
+    return found;
+  }
+}
@@ -0,0 +1,53 @@
+package warehouse.com.csv.common;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.supercsv.encoder.DefaultCsvEncoder;
+import org.supercsv.prefs.CsvPreference;
+import org.supercsv.util.CsvContext;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EscapeFormulaEncoderBenchmark {
+
+  @Param({"plain value", "value, with comma", "=SUM(A1:A9)", "+-@=\"quoted, formula\""})
+  private String input;
+
+  private final EscapeFormulaEncoder encoder = new EscapeFormulaEncoder();
+  private final LegacyEncoder legacyEncoder = new LegacyEncoder();
+  private final CsvContext context = new CsvContext(1, 1, 1);
+  private final CsvPreference preference = CsvPreference.STANDARD_PREFERENCE;
+
+  @Benchmark
+  public String encode() {
+    return encoder.encode(input, context, preference);
+  }
+
+  @Benchmark
+  public String encodeLegacy() {
+    return legacyEncoder.encode(input, context, preference);
+  }
+
+  // regex based implementation the single pass encoder replaced, kept as the baseline
+  private static class LegacyEncoder extends DefaultCsvEncoder {
+
+    @Override
+    public String encode(String input, CsvContext context, CsvPreference preference) {
+      return super.encode(input, context, preference).replaceFirst("^[=+\\-@]+", "")
+          .replaceFirst("^\"[=+\\-@]+", "\"");
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package warehouse.com.csv.processor;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.supercsv.cellprocessor.Trim;
+import org.supercsv.cellprocessor.constraint.NotNull;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.util.CsvContext;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CellProcessorCompilerBenchmark {
+
+  @Param({"EK-7Z46", " ek-7z46 ", "straße"})
+  private String input;
+
+  private final CellProcessor chain = new UpperCaseCellProcessor(new Trim(new NotNull()));
+  private final CellProcessor compiled = CellProcessorCompiler.compile(chain);
+  private final CsvContext context = new CsvContext(1, 1, 1);
+
+  @Benchmark
+  public Object executeChain() {
+    return chain.execute(input, context);
+  }
+
+  @Benchmark
+  public Object executeCompiled() {
+    return compiled.execute(input, context);
+  }
+}
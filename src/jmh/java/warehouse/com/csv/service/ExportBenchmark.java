@@ -0,0 +1,83 @@
+package warehouse.com.csv.service;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.prefs.CsvPreference;
+import warehouse.com.csv.benchmark.BenchmarkMessageSource;
+import warehouse.com.csv.benchmark.Schema;
+import warehouse.com.csv.model.CsvRow;
+import warehouse.com.csv.processor.UpperCaseCellProcessor;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ExportBenchmark {
+
+  // every n-th row of the error report gets error messages
+  private static final int ERROR_ROW_INTERVAL = 10;
+
+  @Param({"10000", "1000000"})
+  private int rows;
+  @Param({"NARROW", "WIDE"})
+  private Schema schema;
+
+  private CsvService csvService;
+  private List<CsvRow> entities;
+  private List<CellProcessor> processors;
+  private Map<Integer, List<String>> errors;
+
+  @Setup
+  public void setUp() {
+    csvService = new CsvService(new MessageService(new BenchmarkMessageSource()));
+    entities = schema.entities(rows);
+    CellProcessor processor = new UpperCaseCellProcessor();
+    processors = schema.getFields().stream().map(field -> processor).toList();
+    errors = new HashMap<>();
+    List<String> codes = BenchmarkMessageSource.ERROR_CODES;
+    for (CsvRow entity : entities) {
+      if (entity.getIndex() % ERROR_ROW_INTERVAL == 0) {
+        errors.put(entity.getIndex(), List.of(codes.get(entity.getIndex() % codes.size()),
+            codes.get((entity.getIndex() + 1) % codes.size())));
+      }
+    }
+  }
+
+  @Benchmark
+  public byte[] exportDataWithPreferenceAndProcessors() {
+    return csvService.exportDataWithPreferenceAndProcessors(entities, schema.getHeaders(),
+        schema.getFields(), CsvPreference.STANDARD_PREFERENCE, processors);
+  }
+
+  @Benchmark
+  public byte[] exportErrorReport() {
+    return csvService.exportErrorReport(errors, entities, schema.getHeaders());
+  }
+
+  @Benchmark
+  public byte[] exportErrorReportInParallel() {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    csvService.exportErrorReport(output, errors, entities, schema.getHeaders(),
+        Collections.emptyList(), ForkJoinPool.commonPool());
+    return output.toByteArray();
+  }
+}
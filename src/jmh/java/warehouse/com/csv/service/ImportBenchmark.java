@@ -0,0 +1,83 @@
+package warehouse.com.csv.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.supercsv.prefs.CsvPreference;
+import warehouse.com.csv.benchmark.BenchmarkMessageSource;
+import warehouse.com.csv.benchmark.Schema;
+import warehouse.com.csv.common.CsvUtils;
+import warehouse.com.csv.model.CsvRow;
+import warehouse.com.csv.model.CsvTable;
+import warehouse.com.csv.parser.CsvParserEngine;
+import warehouse.com.csv.service.exception.CsvException;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ImportBenchmark {
+
+  @Param({"10000", "1000000"})
+  private int rows;
+  @Param({"NARROW", "WIDE"})
+  private Schema schema;
+
+  private static final int PROJECTED_COLUMNS = 5;
+  private static final CsvImportOptions PROJECTION_OPTIONS = CsvImportOptions.builder()
+      .engine(CsvParserEngine.CHAR_WINDOW)
+      .allowExtraColumns(true)
+      .build();
+
+  private CsvService csvService;
+  private String csv;
+
+  @Setup
+  public void setUp() {
+    csvService = new CsvService(new MessageService(new BenchmarkMessageSource()));
+    csv = schema.csv(rows);
+  }
+
+  @Benchmark
+  public List<? extends CsvRow> readIndexedData() throws CsvException {
+    return csvService.readIndexedData(csv, schema.getRowClass(), schema.getHeaders(),
+        schema.getFields());
+  }
+
+  @Benchmark
+  public List<? extends CsvRow> readIndexedDataProjected() throws CsvException {
+    int columns = Math.min(PROJECTED_COLUMNS, schema.getFields().size());
+    return csvService.readIndexedData(csv, schema.getRowClass(),
+        schema.getHeaders().subList(0, columns), schema.getFields().subList(0, columns),
+        PROJECTION_OPTIONS);
+  }
+
+  @Benchmark
+  public List<Map<String, String>> readToMap() throws IOException {
+    return csvService.readToMap(csv, CsvPreference.STANDARD_PREFERENCE);
+  }
+
+  @Benchmark
+  public CsvTable readToTable() throws IOException {
+    return csvService.readToTable(csv, CsvPreference.STANDARD_PREFERENCE);
+  }
+
+  @Benchmark
+  public int trimmedEnd() {
+    return CsvUtils.trimmedEnd(csv, CsvUtils.trimmedStart(csv));
+  }
+}
@@ -0,0 +1,49 @@
+package warehouse.com.csv.common;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Word-at-a-time byte search. Eight bytes are compared per step with plain {@code long}
+ * arithmetic, so runs of ordinary bytes between structural characters are skipped without a
+ * branch per byte.
+ */
+final class ByteScanner {
+
+  private static final VarHandle LONGS =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final long ONES = 0x0101010101010101L;
+  private static final long HIGH_BITS = 0x8080808080808080L;
+
+  private ByteScanner() {
+  }
+
+  /**
+   * @return index of the first byte in {@code [from, to)} equal to {@code first} or
+   * {@code second}, or {@code to} if there is none
+   */
+  static int indexOfEither(byte[] bytes, int from, int to, byte first, byte second) {
+    long firstPattern = (first & 0xFFL) * ONES;
+    long secondPattern = (second & 0xFFL) * ONES;
+    int i = from;
+    for (; i <= to - Long.BYTES; i += Long.BYTES) {
+      long word = (long) LONGS.get(bytes, i);
+      long matches = zeroBytes(word ^ firstPattern) | zeroBytes(word ^ secondPattern);
+      if (matches != 0) {
+        // the lowest flagged byte is always an exact match, the words are read little-endian
+        return i + (Long.numberOfTrailingZeros(matches) >>> 3);
+      }
+    }
+    for (; i < to; i++) {
+      if (bytes[i] == first || bytes[i] == second) {
+        return i;
+      }
+    }
+    return to;
+  }
+
+  private static long zeroBytes(long word) {
+    return (word - ONES) & ~word & HIGH_BITS;
+  }
+}
@@ -0,0 +1,15 @@
+package warehouse.com.csv.common;
+
+/**
+ * Byte range of a CSV file which starts and ends on a record boundary.
+ *
+ * @param start     offset of the first byte of the range
+ * @param end       offset right after the last byte of the range
+ * @param firstLine line number of the first byte of the range, starting with 1
+ */
+public record CsvChunk(long start, long end, int firstLine) {
+
+  public long length() {
+    return end - start;
+  }
+}
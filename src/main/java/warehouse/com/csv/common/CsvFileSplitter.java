@@ -0,0 +1,169 @@
+package warehouse.com.csv.common;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a UTF-8 CSV file into record-aligned byte ranges which can be parsed independently. A
+ * single sequential pass counts quote characters, so line breaks inside quoted cells are never
+ * used as split points. Leading whitespace and the trailing block of empty rows are excluded the
+ * same way as {@link TrailingEmptyRowsTrimmingReader} does.
+ */
+public class CsvFileSplitter {
+
+  private static final int SCAN_BUFFER_SIZE = 1 << 20;
+  private static final int TAIL_BUFFER_SIZE = 8192;
+  private static final byte NEWLINE = '\n';
+
+  private CsvFileSplitter() {
+  }
+
+  /**
+   * Header record and data chunks of a CSV file.
+   *
+   * @param header first record of the file
+   * @param chunks remaining records split into ranges, in file order
+   */
+  public record Chunks(CsvChunk header, List<CsvChunk> chunks) {
+
+  }
+
+  /**
+   * @param channel       file to split
+   * @param quoteChar     quote character of the CSV preference, must be ASCII
+   * @param maxChunks     upper bound for the number of data chunks
+   * @param minChunkBytes data chunks are not made smaller than this, except for the last one
+   */
+  public static Chunks split(FileChannel channel, char quoteChar, int maxChunks,
+      long minChunkBytes) throws IOException {
+    long start = skipLeadingWhitespace(channel);
+    long end = trimmedEnd(channel, start);
+
+    ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+    byte quote = (byte) quoteChar;
+    boolean quoted = false;
+    int line = 1;
+    CsvChunk header = null;
+    List<CsvChunk> chunks = new ArrayList<>();
+    long chunkStart = end;
+    int chunkFirstLine = 1;
+    long chunkSize = 0;
+
+    long position = start;
+    while (position < end) {
+      buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+      int count = readFully(channel, buffer, position);
+      byte[] bytes = buffer.array();
+      for (int i = ByteScanner.indexOfEither(bytes, 0, count, quote, NEWLINE); i < count;
+          i = ByteScanner.indexOfEither(bytes, i + 1, count, quote, NEWLINE)) {
+        if (bytes[i] == quote) {
+          quoted = !quoted;
+        } else {
+          line++;
+          long boundary = position + i + 1;
+          if (quoted || boundary == end) {
+            continue;
+          }
+          if (header == null) {
+            header = new CsvChunk(start, boundary, 1);
+            chunkStart = boundary;
+            chunkFirstLine = line;
+            chunkSize = Math.max(minChunkBytes, (end - boundary) / Math.max(1, maxChunks));
+          } else if (boundary - chunkStart >= chunkSize) {
+            chunks.add(new CsvChunk(chunkStart, boundary, chunkFirstLine));
+            chunkStart = boundary;
+            chunkFirstLine = line;
+          }
+        }
+      }
+      position += count;
+    }
+
+    if (header == null) {
+      header = new CsvChunk(start, end, 1);
+    } else if (chunkStart < end) {
+      chunks.add(new CsvChunk(chunkStart, end, chunkFirstLine));
+    }
+    return new Chunks(header, chunks);
+  }
+
+  /**
+   * @return end of the last record imports read, before trailing whitespace and the trailing
+   *     block of empty rows
+   */
+  public static long dataEnd(FileChannel channel) throws IOException {
+    return trimmedEnd(channel, skipLeadingWhitespace(channel));
+  }
+
+  private static long skipLeadingWhitespace(FileChannel channel) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(TAIL_BUFFER_SIZE);
+    long size = channel.size();
+    long position = 0;
+    while (position < size) {
+      buffer.clear().limit((int) Math.min(buffer.capacity(), size - position));
+      int count = readFully(channel, buffer, position);
+      for (int i = 0; i < count; i++) {
+        if (Byte.toUnsignedInt(buffer.get(i)) > ' ') {
+          return position + i;
+        }
+      }
+      position += count;
+    }
+    return size;
+  }
+
+  // backward scan equivalent of trimming trailing whitespace and the trailing empty rows block
+  private static long trimmedEnd(FileChannel channel, long start) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(TAIL_BUFFER_SIZE);
+    long end = channel.size();
+    boolean trailingWhitespace = true;
+    long lineBreak = -1;
+    long position = end;
+    while (position > start) {
+      int count = (int) Math.min(buffer.capacity(), position - start);
+      buffer.clear().limit(count);
+      readFully(channel, buffer, position - count);
+      for (int i = count - 1; i >= 0; i--) {
+        int b = Byte.toUnsignedInt(buffer.get(i));
+        if (trailingWhitespace) {
+          if (b <= ' ') {
+            end--;
+            continue;
+          }
+          if (b != ',') {
+            return end;
+          }
+          trailingWhitespace = false;
+        }
+        if (b == '\r' || b == '\n') {
+          lineBreak = position - count + i;
+        } else if (!isEmptyRowByte(b)) {
+          return lineBreak >= 0 ? lineBreak + 1 : end;
+        }
+      }
+      position -= count;
+    }
+    return lineBreak >= 0 ? lineBreak + 1 : end;
+  }
+
+  private static boolean isEmptyRowByte(int b) {
+    return b == ',' || b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == '\f'
+        || b == '\u000B';
+  }
+
+  private static int readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    int total = 0;
+    while (buffer.hasRemaining()) {
+      int count = channel.read(buffer, position + total);
+      if (count < 0) {
+        break;
+      }
+      total += count;
+    }
+    return total;
+  }
+}
@@ -5,12 +5,18 @@ import static warehouse.com.csv.common.CsvConstants.ErrorKey.CSV_IMPORT_ERROR;
 import static warehouse.com.csv.common.CsvConstants.ErrorKey.CSV_INVALID_FILE_SIZE;
 import static warehouse.com.csv.common.CsvConstants.ErrorKey.CSV_INVALID_FORMAT;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.util.Scanner;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CharSequenceReader;
+import org.apache.commons.io.input.SequenceReader;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 import warehouse.com.reststarter.exception.BadRequestRestException;
@@ -56,4 +62,82 @@ public class CsvUtils {
       throw new InternalErrorException(CSV_IMPORT_ERROR, e);
     }
   }
+
+  /**
+   * Reader over the content with leading and trailing whitespace and the trailing block of empty
+   * rows cut off, the same trimming as {@link TrailingEmptyRowsTrimmingReader} applies. The bounds
+   * are found by scanning from both ends, the content itself is not copied.
+   */
+  public static Reader trimmedReader(CharSequence csv) {
+    int start = trimmedStart(csv);
+    return new CharSequenceReader(csv, start, trimmedEnd(csv, start));
+  }
+
+  /**
+   * @return index of the first character above {@code ' '}, or the length for blank content
+   */
+  public static int trimmedStart(CharSequence csv) {
+    int start = 0;
+    while (start < csv.length() && csv.charAt(start) <= ' ') {
+      start++;
+    }
+    return start;
+  }
+
+  /**
+   * Backward scan finding where the content ends once trailing whitespace is trimmed and a
+   * trailing block of rows containing only commas and whitespace is cut off after its first line
+   * break.
+   *
+   * @param start index the content starts at, see {@link #trimmedStart(CharSequence)}
+   */
+  public static int trimmedEnd(CharSequence csv, int start) {
+    int end = csv.length();
+    while (end > start && csv.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    if (end == start || csv.charAt(end - 1) != ',') {
+      return end;
+    }
+    int lineBreak = -1;
+    for (int i = end - 1; i >= start; i--) {
+      char c = csv.charAt(i);
+      if (c == '\r' || c == '\n') {
+        lineBreak = i;
+      } else if (c != ',' && c != ' ' && c != '\t' && c != '\f' && c != '\u000B') {
+        break;
+      }
+    }
+    return lineBreak >= 0 ? lineBreak + 1 : end;
+  }
+
+  public static Reader toReader(InputStream inputStream) {
+    return new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Opens a reader over the uploaded CSV file without loading its content into memory. Performs
+   * the same extension and blank content validation as {@link #extractContent(MultipartFile)},
+   * only the leading whitespace is read ahead to find the first other character.
+   */
+  public static Reader openReader(MultipartFile file) {
+    try {
+      CsvUtils.validateCsvFileExtension(file.getOriginalFilename(), CSV_INVALID_FORMAT);
+      Reader reader = toReader(file.getInputStream());
+      StringBuilder readAhead = new StringBuilder();
+      int c;
+      while ((c = reader.read()) >= 0 && Character.isWhitespace(c)) {
+        readAhead.append((char) c);
+      }
+      if (c < 0) {
+        reader.close();
+        throw new BadRequestRestException(CSV_EMPTY_FILE_CONTENT);
+      }
+      readAhead.append((char) c);
+
+      return new SequenceReader(new StringReader(readAhead.toString()), reader);
+    } catch (IOException e) {
+      throw new InternalErrorException(CSV_IMPORT_ERROR, e);
+    }
+  }
 }
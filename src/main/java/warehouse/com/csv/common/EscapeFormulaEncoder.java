@@ -1,15 +1,104 @@
 package warehouse.com.csv.common;
 
+import java.util.regex.Pattern;
 import org.supercsv.encoder.DefaultCsvEncoder;
 import org.supercsv.prefs.CsvPreference;
 import org.supercsv.util.CsvContext;
 
+/**
+ * Encoder escaping cells like {@link DefaultCsvEncoder} and stripping leading formula characters
+ * ({@code = + - @}), so exported values cannot be evaluated as spreadsheet formulas. The common
+ * case is handled in a single pass: values which need neither stripping nor quoting are returned
+ * as they are, without any copy.
+ */
 public class EscapeFormulaEncoder extends DefaultCsvEncoder {
 
+  private static final Pattern LEADING_FORMULA = Pattern.compile("^[=+\\-@]+");
+  private static final Pattern QUOTED_LEADING_FORMULA = Pattern.compile("^\"[=+\\-@]+");
+  private static final char QUOTE = '"';
+
   @Override
   public String encode(final String input, final CsvContext context,
       final CsvPreference preference) {
-    return super.encode(input, context, preference).replaceFirst("^[=+\\-@]+", "")
-        .replaceFirst("^\"[=+\\-@]+", "\"");
+    int delimiter = preference.getDelimiterChar();
+    if (preference.getQuoteChar() != QUOTE || isFormulaChar(delimiter) || delimiter == QUOTE
+        || delimiter == '\r' || delimiter == '\n') {
+      return legacyEncode(input, context, preference);
+    }
+
+    int length = input.length();
+    int start = 0;
+    while (start < length && isFormulaChar(input.charAt(start))) {
+      start++;
+    }
+    int special = start;
+    while (special < length && !isSpecialChar(input.charAt(special), delimiter)) {
+      special++;
+    }
+
+    StringBuilder escaped = null;
+    if (special < length) {
+      escaped = new StringBuilder(length + 8).append(QUOTE).append(input, start, special);
+      escape(input, special, escaped, delimiter, context, preference);
+    }
+    // quoting depends on the original value, formula characters included
+    boolean quotesRequired = escaped != null
+        || preference.getQuoteMode().quotesRequired(input, context, preference)
+        || preference.isSurroundingSpacesNeedQuotes() && length > 0
+        && (input.charAt(0) == ' ' || input.charAt(length - 1) == ' ');
+
+    if (escaped != null) {
+      return escaped.append(QUOTE).toString();
+    } else if (quotesRequired) {
+      return new StringBuilder(length - start + 2).append(QUOTE).append(input, start, length)
+          .append(QUOTE).toString();
+    }
+    return start == 0 ? input : input.substring(start);
+  }
+
+  private static void escape(String input, int from, StringBuilder escaped, int delimiter,
+      CsvContext context, CsvPreference preference) {
+    String endOfLineSymbols = preference.getEndOfLineSymbols();
+    boolean skipNewline = false;
+    for (int i = from; i < input.length(); i++) {
+      char c = input.charAt(i);
+      if (skipNewline) {
+        skipNewline = false;
+        if (c == '\n') {
+          // newline following a carriage return is skipped
+          continue;
+        }
+      }
+      if (c == delimiter) {
+        escaped.append(c);
+      } else if (c == QUOTE) {
+        escaped.append(QUOTE).append(QUOTE);
+      } else if (c == '\r') {
+        escaped.append(endOfLineSymbols);
+        context.setLineNumber(context.getLineNumber() + 1);
+        skipNewline = true;
+      } else if (c == '\n') {
+        escaped.append(endOfLineSymbols);
+        context.setLineNumber(context.getLineNumber() + 1);
+      } else {
+        escaped.append(c);
+      }
+    }
+  }
+
+  // stripping after the default encoding, for preferences whose quote or delimiter collides
+  // with the characters handled by the single pass
+  private String legacyEncode(String input, CsvContext context, CsvPreference preference) {
+    String encoded = LEADING_FORMULA.matcher(super.encode(input, context, preference))
+        .replaceFirst("");
+    return QUOTED_LEADING_FORMULA.matcher(encoded).replaceFirst("\"");
+  }
+
+  private static boolean isSpecialChar(char c, int delimiter) {
+    return c == delimiter || c == QUOTE || c == '\r' || c == '\n';
+  }
+
+  private static boolean isFormulaChar(int c) {
+    return c == '=' || c == '+' || c == '-' || c == '@';
   }
 }
@@ -0,0 +1,110 @@
+package warehouse.com.csv.common;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader decoding a UTF-8 file, or a byte range of it, straight from memory-mapped segments. Only
+ * a small window of decoded characters is kept on the heap, the file content itself stays in the
+ * page cache.
+ */
+public class MappedFileReader extends Reader {
+
+  private static final long MAX_SEGMENT_SIZE = 1 << 28;
+  private static final int BUFFER_SIZE = 8192;
+
+  private final FileChannel channel;
+  private final long end;
+  private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE).flip();
+  private MappedByteBuffer segment;
+  private long segmentStart;
+  private boolean endOfInput;
+
+  private MappedFileReader(FileChannel channel, long start, long end) {
+    this.channel = channel;
+    this.segmentStart = start;
+    this.end = end;
+  }
+
+  public static MappedFileReader open(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    return new MappedFileReader(channel, 0, channel.size());
+  }
+
+  /**
+   * Opens a reader over the byte range {@code [start, end)} of the file. The range has to start
+   * on a character boundary.
+   */
+  public static MappedFileReader open(Path file, long start, long end) throws IOException {
+    return new MappedFileReader(FileChannel.open(file, StandardOpenOption.READ), start, end);
+  }
+
+  @Override
+  public int read(char[] cbuf, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    if (!chars.hasRemaining() && !fill()) {
+      return -1;
+    }
+    int count = Math.min(len, chars.remaining());
+    chars.get(cbuf, off, count);
+    return count;
+  }
+
+  @Override
+  public void close() throws IOException {
+    segment = null;
+    channel.close();
+  }
+
+  private boolean fill() throws IOException {
+    chars.clear();
+    while (chars.position() == 0 && !endOfInput) {
+      if (segment == null || !segment.hasRemaining()) {
+        if (!mapNextSegment()) {
+          if (segment != null) {
+            decoder.flush(chars);
+          }
+          endOfInput = true;
+          break;
+        }
+      }
+      boolean lastSegment = segmentStart + segment.limit() == end;
+      CoderResult result = decoder.decode(segment, chars, lastSegment);
+      if (result.isError()) {
+        result.throwException();
+      }
+      if (result.isUnderflow() && segment.hasRemaining()) {
+        // a multibyte character is split between segments, map again from its first byte
+        mapNextSegment();
+      }
+    }
+    chars.flip();
+    return chars.hasRemaining();
+  }
+
+  private boolean mapNextSegment() throws IOException {
+    if (segment != null) {
+      segmentStart += segment.position();
+    }
+    if (segmentStart >= end) {
+      return false;
+    }
+    segment = channel.map(FileChannel.MapMode.READ_ONLY, segmentStart,
+        Math.min(MAX_SEGMENT_SIZE, end - segmentStart));
+    return true;
+  }
+}
@@ -0,0 +1,111 @@
+package warehouse.com.csv.common;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reader which applies the same trimming as {@link CsvUtils#trimmedReader(CharSequence)} while
+ * the content is being read: leading and trailing whitespace is dropped, and a trailing block of
+ * rows containing only commas and whitespace is cut off after its first line break. Only the
+ * current run of comma/whitespace characters is buffered, so the content is never loaded as a
+ * whole.
+ */
+public class TrailingEmptyRowsTrimmingReader extends Reader {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final Reader in;
+  private final char[] buffer = new char[BUFFER_SIZE];
+  // comma/whitespace run following the last significant character read so far
+  private final StringBuilder tail = new StringBuilder();
+  private final StringBuilder ready = new StringBuilder();
+  private int readyPosition;
+  private boolean leadingWhitespace = true;
+  private boolean endOfInput;
+
+  public TrailingEmptyRowsTrimmingReader(Reader in) {
+    this.in = in;
+  }
+
+  @Override
+  public int read(char[] cbuf, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    while (readyPosition == ready.length()) {
+      if (endOfInput) {
+        return -1;
+      }
+      fill();
+    }
+    int count = Math.min(len, ready.length() - readyPosition);
+    ready.getChars(readyPosition, readyPosition + count, cbuf, off);
+    readyPosition += count;
+    return count;
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  private void fill() throws IOException {
+    ready.setLength(0);
+    readyPosition = 0;
+    int count = in.read(buffer, 0, buffer.length);
+    if (count == -1) {
+      endOfInput = true;
+      appendTrimmedTail();
+      return;
+    }
+
+    int start = 0;
+    if (leadingWhitespace) {
+      while (start < count && buffer[start] <= ' ') {
+        start++;
+      }
+      leadingWhitespace = start == count;
+    }
+
+    int lastSignificant = count - 1;
+    while (lastSignificant >= start && isEmptyRowChar(buffer[lastSignificant])) {
+      lastSignificant--;
+    }
+    if (lastSignificant >= start) {
+      ready.append(tail);
+      tail.setLength(0);
+      ready.append(buffer, start, lastSignificant + 1 - start);
+      start = lastSignificant + 1;
+    }
+    tail.append(buffer, start, count - start);
+  }
+
+  private void appendTrimmedTail() {
+    int end = tail.length();
+    while (end > 0 && tail.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    if (end > 0 && tail.charAt(end - 1) == ',') {
+      int lineBreak = indexOfLineBreak(tail, end);
+      if (lineBreak >= 0) {
+        end = lineBreak + 1;
+      }
+    }
+    ready.append(tail, 0, end);
+    tail.setLength(0);
+  }
+
+  private static int indexOfLineBreak(CharSequence chars, int end) {
+    for (int i = 0; i < end; i++) {
+      if (chars.charAt(i) == '\r' || chars.charAt(i) == '\n') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean isEmptyRowChar(char c) {
+    return c == ',' || c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f'
+        || c == '\u000B';
+  }
+}
@@ -1,5 +1,6 @@
 package warehouse.com.csv.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -7,11 +8,13 @@ import warehouse.com.csv.service.CsvService;
 import warehouse.com.csv.service.MessageService;
 
 @Configuration
+@EnableConfigurationProperties(MessageCacheProperties.class)
 public class CsvConfiguration {
 
   @Bean
-  public MessageService messageService(MessageSource messageSource) {
-    return new MessageService(messageSource);
+  public MessageService messageService(MessageSource messageSource,
+      MessageCacheProperties messageCacheProperties) {
+    return new MessageService(messageSource, messageCacheProperties);
   }
 
   @Bean
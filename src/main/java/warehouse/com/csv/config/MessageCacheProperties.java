@@ -0,0 +1,19 @@
+package warehouse.com.csv.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param maximumSize number of resolved messages kept by
+ *                    {@link warehouse.com.csv.service.MessageService}, the least recently used
+ *                    ones are evicted first
+ */
+@ConfigurationProperties(prefix = "warehouse.csv.message-cache")
+public record MessageCacheProperties(@DefaultValue("10000") long maximumSize) {
+
+  public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+  public static MessageCacheProperties defaults() {
+    return new MessageCacheProperties(DEFAULT_MAXIMUM_SIZE);
+  }
+}
@@ -0,0 +1,22 @@
+package warehouse.com.csv.model;
+
+import java.util.List;
+
+/**
+ * Row rejected by a lenient import.
+ *
+ * @param rowNumber row number the entity would have had as {@link CsvRow#getIndex() index}
+ * @param line      line number the row ends on
+ * @param column    column the error was detected in, starting with 1, or 0 if it concerns the
+ *                  whole row
+ * @param content   untokenized content of the row
+ * @param cells     tokenized cells of the row, or the untokenized content as a single cell when
+ *                  the row could not be tokenized; cells of columns the import does not use may
+ *                  be {@code null}
+ * @param errorCode message code of the error
+ * @param detail    message of the exception which rejected the row
+ */
+public record CsvRowError(int rowNumber, int line, int column, String content,
+                          List<String> cells, String errorCode, String detail) {
+
+}
@@ -0,0 +1,308 @@
+package warehouse.com.csv.model;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+import org.supercsv.exception.SuperCsvException;
+
+/**
+ * Columnar, read-only storage of CSV rows keyed by header. The headers are stored once and each
+ * column keeps its values in an array, dictionary encoded while the column has few distinct
+ * values, so repeated values are stored once. Rows are exposed as lightweight {@link Map} views
+ * equal to the maps built by {@link org.supercsv.io.CsvMapReader}, columns as lists for
+ * column-wise scans.
+ */
+public final class CsvTable extends AbstractList<Map<String, String>> implements RandomAccess {
+
+  private final String[] headers;
+  private final Map<String, Integer> headerColumns;
+  private final Column[] columns;
+  private final int rowCount;
+
+  private CsvTable(String[] headers, Map<String, Integer> headerColumns, Column[] columns,
+      int rowCount) {
+    this.headers = headers;
+    this.headerColumns = headerColumns;
+    this.columns = columns;
+    this.rowCount = rowCount;
+  }
+
+  /**
+   * @param headers header per column, columns with a {@code null} header are not stored
+   */
+  public static Builder builder(String[] headers) {
+    return new Builder(headers);
+  }
+
+  /**
+   * @return headers of the stored columns, in file order
+   */
+  public List<String> getHeaders() {
+    return Arrays.stream(headers).filter(header -> header != null).toList();
+  }
+
+  /**
+   * @return values of the column, one per row
+   * @throws IllegalArgumentException if there is no column with the header
+   */
+  public List<String> getColumn(String header) {
+    Column column = column(header);
+    return new AbstractList<>() {
+      @Override
+      public String get(int row) {
+        return column.get(checkRow(row));
+      }
+
+      @Override
+      public int size() {
+        return rowCount;
+      }
+    };
+  }
+
+  public String get(int row, String header) {
+    return column(header).get(checkRow(row));
+  }
+
+  /**
+   * @return view of the row, it is not modifiable
+   */
+  @Override
+  public Map<String, String> get(int row) {
+    return new Row(checkRow(row));
+  }
+
+  @Override
+  public int size() {
+    return rowCount;
+  }
+
+  private Column column(String header) {
+    Integer column = headerColumns.get(header);
+    if (column == null) {
+      throw new IllegalArgumentException("Unknown column " + header);
+    }
+    return columns[column];
+  }
+
+  private int checkRow(int row) {
+    if (row < 0 || row >= rowCount) {
+      throw new IndexOutOfBoundsException(
+          String.format("Index %d out of bounds for length %d", row, rowCount));
+    }
+    return row;
+  }
+
+  /**
+   * Collects rows into a table, column by column.
+   */
+  public static final class Builder {
+
+    private static final int INITIAL_ROWS = 64;
+
+    private final String[] headers;
+    private final Map<String, Integer> headerColumns = new HashMap<>();
+    private final Column[] columns;
+    private int rowCount;
+    private int capacity = INITIAL_ROWS;
+
+    private Builder(String[] headers) {
+      this.headers = headers.clone();
+      this.columns = new Column[headers.length];
+      for (int i = 0; i < headers.length; i++) {
+        if (headers[i] != null) {
+          if (headerColumns.putIfAbsent(headers[i], i) != null) {
+            throw new SuperCsvException(String.format("duplicate nameMapping '%s' at index %d",
+                headers[i], i));
+          }
+          columns[i] = new Column(capacity);
+        }
+      }
+    }
+
+    /**
+     * @param cells value per column, as many as there are headers
+     */
+    public Builder addRow(List<String> cells) {
+      if (cells.size() != headers.length) {
+        throw new SuperCsvException(String.format(
+            "the nameMapping array and the sourceList should be the same size (nameMapping "
+                + "length = %d, sourceList size = %d)", headers.length, cells.size()));
+      }
+      if (rowCount == capacity) {
+        capacity *= 2;
+        for (Column column : columns) {
+          if (column != null) {
+            column.grow(capacity);
+          }
+        }
+      }
+      for (int i = 0; i < columns.length; i++) {
+        if (columns[i] != null) {
+          columns[i].set(rowCount, cells.get(i));
+        }
+      }
+      rowCount++;
+      return this;
+    }
+
+    public CsvTable build() {
+      for (Column column : columns) {
+        if (column != null) {
+          column.trim(rowCount);
+        }
+      }
+      return new CsvTable(headers, headerColumns, columns, rowCount);
+    }
+  }
+
+  // values as dictionary codes while there are few distinct ones, as plain references otherwise
+  private static final class Column {
+
+    private static final int MAX_DICTIONARY_SIZE = 1 << 12;
+    private static final int NULL_CODE = 0;
+
+    private Map<String, Integer> codes = new HashMap<>();
+    private List<String> dictionary = new ArrayList<>();
+    private String[] dictionaryValues;
+    private int[] rowCodes;
+    private String[] values;
+
+    Column(int capacity) {
+      dictionary.add(null);
+      rowCodes = new int[capacity];
+    }
+
+    void set(int row, String value) {
+      if (values != null) {
+        values[row] = value;
+        return;
+      }
+      if (value == null) {
+        rowCodes[row] = NULL_CODE;
+        return;
+      }
+      Integer code = codes.get(value);
+      if (code == null) {
+        if (dictionary.size() == MAX_DICTIONARY_SIZE) {
+          decode(row, rowCodes.length);
+          values[row] = value;
+          return;
+        }
+        code = dictionary.size();
+        dictionary.add(value);
+        codes.put(value, code);
+      }
+      rowCodes[row] = code;
+    }
+
+    String get(int row) {
+      return values != null ? values[row] : dictionaryValues[rowCodes[row]];
+    }
+
+    void grow(int capacity) {
+      if (values != null) {
+        values = Arrays.copyOf(values, capacity);
+      } else {
+        rowCodes = Arrays.copyOf(rowCodes, capacity);
+      }
+    }
+
+    void trim(int rows) {
+      if (values != null) {
+        values = Arrays.copyOf(values, rows);
+      } else {
+        rowCodes = Arrays.copyOf(rowCodes, rows);
+        dictionaryValues = dictionary.toArray(String[]::new);
+      }
+      codes = null;
+      dictionary = null;
+    }
+
+    // switches to plain references for the rows before the given one
+    private void decode(int rows, int capacity) {
+      values = new String[capacity];
+      for (int i = 0; i < rows; i++) {
+        values[i] = dictionary.get(rowCodes[i]);
+      }
+      rowCodes = null;
+      codes = null;
+      dictionary = null;
+    }
+  }
+
+  private final class Row extends AbstractMap<String, String> {
+
+    private final int row;
+
+    private Row(int row) {
+      this.row = row;
+    }
+
+    @Override
+    public String get(Object key) {
+      Integer column = headerColumns.get(key);
+      return column == null ? null : columns[column].get(row);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return headerColumns.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+      return headerColumns.size();
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+          return new Iterator<>() {
+            private int column = nextColumn(0);
+
+            @Override
+            public boolean hasNext() {
+              return column < columns.length;
+            }
+
+            @Override
+            public Entry<String, String> next() {
+              if (!hasNext()) {
+                throw new NoSuchElementException();
+              }
+              Entry<String, String> entry = new SimpleImmutableEntry<>(headers[column],
+                  columns[column].get(row));
+              column = nextColumn(column + 1);
+              return entry;
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return headerColumns.size();
+        }
+      };
+    }
+
+    private int nextColumn(int from) {
+      int column = from;
+      while (column < columns.length && columns[column] == null) {
+        column++;
+      }
+      return column;
+    }
+  }
+}
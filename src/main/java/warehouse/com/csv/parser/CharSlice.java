@@ -0,0 +1,66 @@
+package warehouse.com.csv.parser;
+
+import java.util.Objects;
+
+/**
+ * Mutable view of a range of a character array. Instances are reused from row to row, so a slice
+ * is only valid until the next row is read; {@link #toString()} copies the content.
+ */
+final class CharSlice implements CharSequence {
+
+  private char[] chars;
+  private int offset;
+  private int length;
+
+  CharSlice set(char[] chars, int offset, int length) {
+    this.chars = chars;
+    this.offset = offset;
+    this.length = length;
+    return this;
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    Objects.checkIndex(index, length);
+    return chars[offset + index];
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    Objects.checkFromToIndex(start, end, length);
+    return new String(chars, offset + start, end - start);
+  }
+
+  @Override
+  public String toString() {
+    return new String(chars, offset, length);
+  }
+
+  /**
+   * @return the hash code {@link String#hashCode()} returns for the same characters
+   */
+  int contentHash() {
+    int hash = 0;
+    for (int i = offset, end = offset + length; i < end; i++) {
+      hash = 31 * hash + chars[i];
+    }
+    return hash;
+  }
+
+  boolean contentEquals(String value) {
+    if (value.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (value.charAt(i) != chars[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,447 @@
+package warehouse.com.csv.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * Tokenizer working directly on a window of characters read from the input. A row is kept in the
+ * window while it is parsed and its cells are recorded as ranges of the window, so no
+ * {@code String} is created unless a cell is requested as one. Cells which are not contiguous in
+ * the input (escaped quotes, text on both sides of a quoted section, line breaks other than
+ * {@code \n} inside quotes) are copied to a scratch buffer shared by the row.
+ *
+ * <p>Cells of columns left out by {@link #project(boolean[])} are scanned for delimiters and
+ * quotes only, their characters are never recorded or copied.
+ *
+ * <p>Tokenizing follows the Super CSV tokenizer: quotes may start anywhere in a cell, empty cells
+ * are {@code null}, line breaks inside quotes become {@code \n}, and the quote character,
+ * delimiter, surrounding spaces, empty lines and maximum lines per row settings of the
+ * preference are honoured with the same errors and line numbers.
+ */
+public class CharWindowRowSource implements CsvRowSource {
+
+  private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+  private static final int INITIAL_COLUMNS = 16;
+  private static final int INITIAL_SCRATCH_SIZE = 256;
+  private static final char NEWLINE = '\n';
+  private static final char SPACE = ' ';
+
+  private final Reader reader;
+  private final char quoteChar;
+  private final int delimiterChar;
+  private final boolean surroundingSpacesNeedQuotes;
+  private final boolean ignoreEmptyLines;
+  private final int maxLinesPerRow;
+
+  private char[] buffer = new char[INITIAL_BUFFER_SIZE];
+  private int position;
+  private int limit;
+  private boolean endOfInput;
+  private int lineNumber;
+  private int rowNumber;
+
+  // current line as absolute window indexes, the terminator is not part of the line
+  private int lineStart;
+  private int lineEnd;
+  private boolean lineFeedTerminated;
+
+  // current row, cell offsets are relative to rowStart unless the cell was copied to scratch
+  private int rowStart;
+  private int rowEnd;
+  private boolean rowEndsWithNewline;
+  private String untokenizedRow = "";
+  private int columnCount;
+  private int[] cellOffsets = new int[INITIAL_COLUMNS];
+  private int[] cellLengths = new int[INITIAL_COLUMNS];
+  private boolean[] cellCopied = new boolean[INITIAL_COLUMNS];
+  private CharSlice[] cells = new CharSlice[INITIAL_COLUMNS];
+  private char[] scratch = new char[INITIAL_SCRATCH_SIZE];
+  private int scratchLength;
+  private boolean[] projection;
+
+  // cell being tokenized
+  private int currentOffset;
+  private int currentLength;
+  private boolean currentCopied;
+  private boolean currentSkipped;
+
+  public CharWindowRowSource(Reader reader, CsvPreference preference) {
+    this.reader = reader;
+    this.quoteChar = preference.getQuoteChar();
+    this.delimiterChar = preference.getDelimiterChar();
+    this.surroundingSpacesNeedQuotes = preference.isSurroundingSpacesNeedQuotes();
+    this.ignoreEmptyLines = preference.isIgnoreEmptyLines();
+    this.maxLinesPerRow = preference.getMaxLinesPerRow();
+  }
+
+  @Override
+  public boolean readRow() throws IOException {
+    columnCount = 0;
+    scratchLength = 0;
+    currentLength = 0;
+    currentCopied = false;
+    currentSkipped = isSkipped(0);
+    rowEnd = 0;
+    rowEndsWithNewline = false;
+    untokenizedRow = null;
+    do {
+      rowStart = position;
+      if (!readLine()) {
+        rowStart = position;
+        untokenizedRow = "";
+        return false;
+      }
+    } while (ignoreEmptyLines && lineStart == lineEnd);
+
+    boolean quoteMode = false;
+    int quoteScopeStartingLine = -1;
+    int potentialSpaces = 0;
+    int index = lineStart;
+    while (true) {
+      if (index == lineEnd) {
+        if (!quoteMode) {
+          if (!surroundingSpacesNeedQuotes) {
+            appendSpaces(index, potentialSpaces);
+          }
+          addColumn();
+          rowEnd = lineEnd - rowStart;
+          rowNumber++;
+          return true;
+        }
+        appendNewline();
+        rowEnd = lineEnd - rowStart;
+        rowEndsWithNewline = true;
+        if (maxLinesPerRow > 0 && lineNumber - quoteScopeStartingLine + 1 >= maxLinesPerRow) {
+          throw new SuperCsvException(maxLinesPerRow == 1
+              ? String.format("unexpected end of line while reading quoted column on line %d",
+              lineNumber)
+              : String.format("max number of lines to read exceeded while reading quoted column"
+                  + " beginning on line %d and ending on line %d", quoteScopeStartingLine,
+              lineNumber));
+        } else if (!readLine()) {
+          throw new SuperCsvException(String.format("unexpected end of file while reading quoted"
+              + " column beginning on line %d and ending on line %d", quoteScopeStartingLine,
+              lineNumber));
+        }
+        rowEndsWithNewline = false;
+        index = lineStart;
+        if (lineStart == lineEnd) {
+          // consecutive line breaks
+          continue;
+        }
+      }
+
+      char c = buffer[index];
+      if (!quoteMode) {
+        if (c == delimiterChar) {
+          if (!surroundingSpacesNeedQuotes) {
+            appendSpaces(index, potentialSpaces);
+          }
+          addColumn();
+          potentialSpaces = 0;
+        } else if (c == SPACE) {
+          potentialSpaces++;
+        } else if (c == quoteChar) {
+          quoteMode = true;
+          quoteScopeStartingLine = lineNumber;
+          if (!surroundingSpacesNeedQuotes || currentLength > 0) {
+            appendSpaces(index, potentialSpaces);
+          }
+          potentialSpaces = 0;
+        } else {
+          if (!surroundingSpacesNeedQuotes || currentLength > 0) {
+            appendSpaces(index, potentialSpaces);
+          }
+          potentialSpaces = 0;
+          int end = index + 1;
+          while (end < lineEnd && isPlain(buffer[end])) {
+            end++;
+          }
+          appendRun(index, end);
+          index = end - 1;
+        }
+      } else if (c == quoteChar) {
+        if (index + 1 < lineEnd && buffer[index + 1] == quoteChar) {
+          // escaped quote
+          append(index);
+          index++;
+        } else {
+          quoteMode = false;
+          quoteScopeStartingLine = -1;
+        }
+      } else {
+        int end = index + 1;
+        while (end < lineEnd && buffer[end] != quoteChar) {
+          end++;
+        }
+        appendRun(index, end);
+        index = end - 1;
+      }
+      index++;
+    }
+  }
+
+  @Override
+  public void project(boolean[] columns) {
+    projection = columns == null ? null : columns.clone();
+  }
+
+  @Override
+  public CharSequence getCell(int column) {
+    int length = cellLengths[checkColumn(column)];
+    if (length == 0) {
+      return null;
+    }
+    if (cells[column] == null) {
+      cells[column] = new CharSlice();
+    }
+    return cellCopied[column]
+        ? cells[column].set(scratch, cellOffsets[column], length)
+        : cells[column].set(buffer, rowStart + cellOffsets[column], length);
+  }
+
+  /**
+   * @param n one-based column index, as in {@link org.supercsv.io.ICsvReader#get(int)}
+   */
+  @Override
+  public String get(int n) {
+    CharSequence cell = getCell(n - 1);
+    return cell == null ? null : cell.toString();
+  }
+
+  @Override
+  public String[] getHeader(boolean firstLineCheck) throws IOException {
+    if (firstLineCheck && lineNumber != 0) {
+      throw new SuperCsvException(String.format(
+          "CSV header must be fetched as the first read operation, but %d lines have already "
+              + "been read", lineNumber));
+    }
+    boolean[] rowProjection = projection;
+    projection = null;
+    try {
+      if (!readRow()) {
+        return null;
+      }
+    } finally {
+      projection = rowProjection;
+    }
+    String[] header = new String[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      header[i] = get(i + 1);
+    }
+    return header;
+  }
+
+  @Override
+  public int getLineNumber() {
+    return lineNumber;
+  }
+
+  @Override
+  public int getRowNumber() {
+    return rowNumber;
+  }
+
+  @Override
+  public int length() {
+    return columnCount;
+  }
+
+  /**
+   * @return the lines of the current row joined with {@code \n}, as Super CSV reports them
+   */
+  @Override
+  public String getUntokenizedRow() {
+    if (untokenizedRow == null) {
+      StringBuilder row = new StringBuilder(rowEnd + 1);
+      int end = rowStart + rowEnd;
+      for (int i = rowStart; i < end; i++) {
+        char c = buffer[i];
+        if (c == '\r') {
+          row.append(NEWLINE);
+          if (i + 1 < end && buffer[i + 1] == '\n') {
+            i++;
+          }
+        } else {
+          row.append(c);
+        }
+      }
+      if (rowEndsWithNewline) {
+        row.append(NEWLINE);
+      }
+      untokenizedRow = row.toString();
+    }
+    return untokenizedRow;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private int checkColumn(int column) {
+    if (column < 0 || column >= columnCount) {
+      throw new IndexOutOfBoundsException(
+          String.format("Index %d out of bounds for length %d", column, columnCount));
+    }
+    return column;
+  }
+
+  // reads the next line into [lineStart, lineEnd) and consumes its terminator
+  private boolean readLine() throws IOException {
+    int scan = position;
+    while (true) {
+      while (scan < limit && buffer[scan] != '\n' && buffer[scan] != '\r') {
+        scan++;
+      }
+      if (scan < limit) {
+        if (buffer[scan] == '\r' && scan + 1 == limit && !endOfInput) {
+          // a \n may follow in the next read
+          scan -= fill();
+          continue;
+        }
+        lineStart = position;
+        lineEnd = scan;
+        lineFeedTerminated = buffer[scan] == '\n';
+        position = !lineFeedTerminated && scan + 1 < limit && buffer[scan + 1] == '\n'
+            ? scan + 2
+            : scan + 1;
+        lineNumber++;
+        return true;
+      }
+      if (endOfInput) {
+        if (position == limit) {
+          return false;
+        }
+        lineStart = position;
+        lineEnd = limit;
+        lineFeedTerminated = false;
+        position = limit;
+        lineNumber++;
+        return true;
+      }
+      scan -= fill();
+    }
+  }
+
+  // moves the current row to the start of the window, grows it if needed and reads more input
+  private int fill() throws IOException {
+    int shift = rowStart;
+    if (shift > 0) {
+      System.arraycopy(buffer, shift, buffer, 0, limit - shift);
+      limit -= shift;
+      position -= shift;
+      rowStart = 0;
+    }
+    if (limit == buffer.length) {
+      buffer = Arrays.copyOf(buffer, buffer.length * 2);
+    }
+    int count = reader.read(buffer, limit, buffer.length - limit);
+    if (count < 0) {
+      endOfInput = true;
+    } else {
+      limit += count;
+    }
+    return shift;
+  }
+
+  private boolean isPlain(char c) {
+    return c != delimiterChar && c != SPACE && c != quoteChar;
+  }
+
+  private boolean isSkipped(int column) {
+    return projection != null && (column >= projection.length || !projection[column]);
+  }
+
+  private void append(int index) {
+    appendRun(index, index + 1);
+  }
+
+  // appends the window characters [from, to) to the current cell
+  private void appendRun(int from, int to) {
+    if (currentSkipped) {
+      return;
+    }
+    int relative = from - rowStart;
+    int count = to - from;
+    if (currentLength == 0) {
+      currentCopied = false;
+      currentOffset = relative;
+      currentLength = count;
+    } else if (!currentCopied && currentOffset + currentLength == relative) {
+      currentLength += count;
+    } else {
+      copyCurrent();
+      ensureScratchCapacity(count);
+      System.arraycopy(buffer, from, scratch, scratchLength, count);
+      scratchLength += count;
+      currentLength += count;
+    }
+  }
+
+  private void appendSpaces(int end, int count) {
+    for (int i = end - count; i < end; i++) {
+      append(i);
+    }
+  }
+
+  private void appendNewline() {
+    if (currentSkipped) {
+      return;
+    }
+    if (lineFeedTerminated) {
+      // the \n terminating the line is still in the window
+      append(lineEnd);
+      return;
+    }
+    if (currentLength == 0) {
+      currentCopied = true;
+      currentOffset = scratchLength;
+    } else {
+      copyCurrent();
+    }
+    appendToScratch(NEWLINE);
+  }
+
+  private void copyCurrent() {
+    if (!currentCopied) {
+      ensureScratchCapacity(currentLength);
+      System.arraycopy(buffer, rowStart + currentOffset, scratch, scratchLength, currentLength);
+      currentOffset = scratchLength;
+      scratchLength += currentLength;
+      currentCopied = true;
+    }
+  }
+
+  private void appendToScratch(char c) {
+    ensureScratchCapacity(1);
+    scratch[scratchLength++] = c;
+    currentLength++;
+  }
+
+  private void ensureScratchCapacity(int additional) {
+    if (scratchLength + additional > scratch.length) {
+      scratch = Arrays.copyOf(scratch, Math.max(scratch.length * 2, scratchLength + additional));
+    }
+  }
+
+  private void addColumn() {
+    if (columnCount == cellLengths.length) {
+      int capacity = columnCount * 2;
+      cellOffsets = Arrays.copyOf(cellOffsets, capacity);
+      cellLengths = Arrays.copyOf(cellLengths, capacity);
+      cellCopied = Arrays.copyOf(cellCopied, capacity);
+      cells = Arrays.copyOf(cells, capacity);
+    }
+    cellOffsets[columnCount] = currentOffset;
+    cellLengths[columnCount] = currentLength;
+    cellCopied[columnCount] = currentCopied;
+    columnCount++;
+    currentLength = 0;
+    currentCopied = false;
+    currentSkipped = isSkipped(columnCount);
+  }
+}
@@ -0,0 +1,38 @@
+package warehouse.com.csv.parser;
+
+import java.io.Reader;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * Tokenizer implementations available for imports. Both produce the same rows, line numbers and
+ * errors for a given preference.
+ */
+public enum CsvParserEngine {
+
+  /**
+   * Super CSV tokenizer, builds a {@code String} per cell and a list per row.
+   */
+  SUPER_CSV {
+    @Override
+    public CsvRowSource open(Reader reader, CsvPreference preference) {
+      return new SuperCsvRowSource(reader, preference);
+    }
+  },
+
+  /**
+   * Tokenizer working directly on a character window, cells stay views of the window until they
+   * are bound to a field. Preferences with a comment matcher are handed to {@link #SUPER_CSV},
+   * comment matchers work on whole lines as strings.
+   */
+  CHAR_WINDOW {
+    @Override
+    public CsvRowSource open(Reader reader, CsvPreference preference) {
+      if (preference.getCommentMatcher() != null) {
+        return SUPER_CSV.open(reader, preference);
+      }
+      return new CharWindowRowSource(reader, preference);
+    }
+  };
+
+  public abstract CsvRowSource open(Reader reader, CsvPreference preference);
+}
@@ -0,0 +1,67 @@
+package warehouse.com.csv.parser;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Condition on the raw cells of a row, evaluated right after the row is tokenized, so rejected
+ * rows are never converted, processed or turned into entities. Cells are passed as views which
+ * are only valid while the condition runs, empty cells are {@code null}. Filters are immutable
+ * and may be shared between imports.
+ */
+public final class CsvRowFilter {
+
+  private final List<String> headers;
+  private final Predicate<CharSequence[]> condition;
+
+  private CsvRowFilter(List<String> headers, Predicate<CharSequence[]> condition) {
+    this.headers = headers;
+    this.condition = condition;
+  }
+
+  /**
+   * @param headers   headers of the columns the condition reads
+   * @param condition receives the cells of these columns, in the order of the headers
+   */
+  public static CsvRowFilter of(List<String> headers, Predicate<CharSequence[]> condition) {
+    Validate.notEmpty(headers, "Filter headers must not be empty");
+    Validate.notNull(condition, "Filter condition must not be null");
+    return new CsvRowFilter(List.copyOf(headers), condition);
+  }
+
+  public static CsvRowFilter of(String header, Predicate<CharSequence> condition) {
+    Validate.notNull(condition, "Filter condition must not be null");
+    return of(List.of(header), cells -> condition.test(cells[0]));
+  }
+
+  /**
+   * Accepts the rows whose cell in the column is one of the values.
+   */
+  public static CsvRowFilter in(String header, Collection<String> values) {
+    Set<String> accepted = Set.copyOf(values);
+    return of(header, cell -> cell != null && accepted.contains(cell.toString()));
+  }
+
+  public List<String> getHeaders() {
+    return headers;
+  }
+
+  public boolean test(CharSequence[] cells) {
+    return condition.test(cells);
+  }
+
+  /**
+   * @return zero-based column of each filter header in the file, -1 for a header it does not
+   *     contain
+   */
+  public int[] columnsIn(String[] headersInFile) {
+    List<String> fileHeaders = Arrays.asList(headersInFile);
+    return headers.stream()
+        .mapToInt(fileHeaders::indexOf)
+        .toArray();
+  }
+}
@@ -0,0 +1,36 @@
+package warehouse.com.csv.parser;
+
+import java.io.IOException;
+import org.supercsv.io.ICsvReader;
+
+/**
+ * Row-at-a-time access to tokenized CSV content. Besides the {@link ICsvReader} operations the
+ * cells of the current row are exposed as {@link CharSequence}s, so engines which do not build a
+ * {@code String} per cell can hand out views of their buffers until a value is actually needed.
+ */
+public interface CsvRowSource extends ICsvReader {
+
+  /**
+   * Reads the next row.
+   *
+   * @return {@code false} at the end of the input
+   */
+  boolean readRow() throws IOException;
+
+  /**
+   * @param column zero-based column index
+   * @return content of the cell or {@code null} for an empty cell, only valid until the next row
+   *     is read
+   */
+  CharSequence getCell(int column);
+
+  /**
+   * Limits tokenizing to the given columns, cells of the other columns may be returned as
+   * {@code null}. Rows are still split into all their columns and the header is always read
+   * completely. Engines which cannot skip cells ignore the projection.
+   *
+   * @param columns whether each zero-based column is needed, {@code null} for all columns
+   */
+  default void project(boolean[] columns) {
+  }
+}
@@ -0,0 +1,59 @@
+package warehouse.com.csv.parser;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Bounded pool of the strings of a column which repeats a few values, such as codes, units or
+ * countries. Cells are looked up by their characters, so a value already in the pool is returned
+ * without creating a string. The pool is a fixed-size table in which a new value replaces the one
+ * in its slot: it never grows, columns with many distinct values just miss. Not thread-safe.
+ */
+public final class CsvStringPool {
+
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  private final String[] strings;
+
+  public CsvStringPool() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * @param capacity number of slots, rounded up to a power of two
+   */
+  public CsvStringPool(int capacity) {
+    Validate.isTrue(capacity > 0 && capacity <= 1 << 30, "Pool capacity out of range");
+    this.strings = new String[capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1];
+  }
+
+  /**
+   * @return pooled string with the characters of the cell, {@code null} for a {@code null} cell
+   */
+  public String get(CharSequence cell) {
+    if (cell == null) {
+      return null;
+    }
+    CharSlice slice = cell instanceof CharSlice charSlice ? charSlice : null;
+    int hash = slice != null ? slice.contentHash() : contentHash(cell);
+    int index = (hash ^ hash >>> 16) & (strings.length - 1);
+    String pooled = strings[index];
+    if (pooled != null && pooled.hashCode() == hash
+        && (slice != null ? slice.contentEquals(pooled) : pooled.contentEquals(cell))) {
+      return pooled;
+    }
+    String value = cell.toString();
+    strings[index] = value;
+    return value;
+  }
+
+  private static int contentHash(CharSequence cell) {
+    if (cell instanceof String value) {
+      return value.hashCode();
+    }
+    int hash = 0;
+    for (int i = 0; i < cell.length(); i++) {
+      hash = 31 * hash + cell.charAt(i);
+    }
+    return hash;
+  }
+}
@@ -0,0 +1,26 @@
+package warehouse.com.csv.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import org.supercsv.io.AbstractCsvReader;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * Row source backed by the Super CSV tokenizer, every cell is a {@code String}.
+ */
+public class SuperCsvRowSource extends AbstractCsvReader implements CsvRowSource {
+
+  public SuperCsvRowSource(Reader reader, CsvPreference preferences) {
+    super(reader, preferences);
+  }
+
+  @Override
+  public boolean readRow() throws IOException {
+    return super.readRow();
+  }
+
+  @Override
+  public CharSequence getCell(int column) {
+    return getColumns().get(column);
+  }
+}
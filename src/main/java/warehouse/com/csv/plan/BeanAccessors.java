@@ -0,0 +1,212 @@
+package warehouse.com.csv.plan;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandleProxies;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.StringUtils;
+import org.supercsv.exception.SuperCsvReflectionException;
+
+/**
+ * Resolves bean getters the same way Super CSV does ({@code getX}, or {@code isX} for booleans)
+ * and compiles them, as well as setters and constructors, into functional interfaces via
+ * {@link LambdaMetafactory}, so per-row access is a plain interface call instead of a reflective
+ * invocation. Compiled getters are cached per class.
+ */
+final class BeanAccessors {
+
+  private static final Function<Object, Object> NULL_GETTER = bean -> null;
+  private static final ClassValue<ConcurrentMap<String, Function<Object, Object>>> GETTERS =
+      new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<String, Function<Object, Object>> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private BeanAccessors() {
+  }
+
+  /**
+   * @param fieldName field to read, a {@code null} name produces an accessor returning
+   *                  {@code null}
+   */
+  static Function<Object, Object> getter(Class<?> beanType, String fieldName) {
+    if (fieldName == null) {
+      return NULL_GETTER;
+    }
+    return GETTERS.get(beanType)
+        .computeIfAbsent(fieldName, name -> compileGetter(beanType, findGetter(beanType, name)));
+  }
+
+  private static Method findGetter(Class<?> beanType, String fieldName) {
+    String capitalized = StringUtils.capitalize(fieldName);
+    try {
+      return beanType.getMethod("get" + capitalized);
+    } catch (NoSuchMethodException e) {
+      try {
+        Method getter = beanType.getMethod("is" + capitalized);
+        if (getter.getReturnType() == boolean.class || getter.getReturnType() == Boolean.class) {
+          return getter;
+        }
+      } catch (NoSuchMethodException ignored) {
+        // reported below
+      }
+      throw new SuperCsvReflectionException(String.format(
+          "unable to find getter for field %s in class %s - check that the corresponding "
+              + "nameMapping element matches the field name in the bean", fieldName,
+          beanType.getName()), e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> compileGetter(Class<?> beanType, Method getter) {
+    MethodHandle handle = unreflect(beanType, getter);
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(getter.getDeclaringClass(),
+          MethodHandles.lookup());
+      CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+          MethodType.methodType(Function.class), MethodType.methodType(Object.class, Object.class),
+          handle, MethodType.methodType(handle.type().returnType(), getter.getDeclaringClass())
+              .wrap().changeParameterType(0, getter.getDeclaringClass()));
+      return (Function<Object, Object>) site.getTarget().invokeExact();
+    } catch (Throwable e) {
+      // e.g. the bean class is not accessible for lambda generation, use the handle directly
+      MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+      return bean -> invoke(generic, bean);
+    }
+  }
+
+  /**
+   * @return accessor invoking the public no-args constructor, or one failing like Super CSV does
+   *     when there is none
+   */
+  @SuppressWarnings("unchecked")
+  static <T> Supplier<T> constructor(Class<T> beanType) {
+    MethodHandle handle;
+    try {
+      handle = lookupFor(beanType).findConstructor(beanType, MethodType.methodType(void.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return () -> {
+        throw new SuperCsvReflectionException(String.format(
+            "error instantiating bean, check that %s has a default no-args constructor",
+            beanType.getName()), e);
+      };
+    }
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(beanType,
+          MethodHandles.lookup());
+      CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+          MethodType.methodType(Supplier.class), MethodType.methodType(Object.class), handle,
+          MethodType.methodType(beanType));
+      return (Supplier<T>) site.getTarget().invokeExact();
+    } catch (Throwable e) {
+      MethodHandle generic = handle.asType(MethodType.methodType(Object.class));
+      return () -> (T) invoke(generic);
+    }
+  }
+
+  /**
+   * @return accessor invoking the single argument setter, arguments are unboxed for primitive
+   *     parameters
+   */
+  @SuppressWarnings("unchecked")
+  static BiConsumer<Object, Object> setter(Class<?> beanType, Method setter) {
+    MethodHandle handle = unreflect(beanType, setter);
+    Class<?> declaringClass = setter.getDeclaringClass();
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass,
+          MethodHandles.lookup());
+      CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+          MethodType.methodType(BiConsumer.class),
+          MethodType.methodType(void.class, Object.class, Object.class), handle,
+          MethodType.methodType(void.class, declaringClass,
+              MethodType.methodType(setter.getParameterTypes()[0]).wrap().returnType()));
+      return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+    } catch (Throwable e) {
+      MethodHandle generic = handle.asType(
+          MethodType.methodType(void.class, Object.class, Object.class));
+      return (bean, value) -> invoke(generic, bean, value);
+    }
+  }
+
+  /**
+   * @param setterType {@code ObjIntConsumer}, {@code ObjLongConsumer} or {@code ObjDoubleConsumer}
+   *                   matching the primitive parameter of the setter
+   * @return accessor passing the primitive argument to the setter without boxing
+   */
+  static <F> F primitiveSetter(Class<?> beanType, Method setter, Class<F> setterType) {
+    MethodHandle handle = unreflect(beanType, setter);
+    Class<?> declaringClass = setter.getDeclaringClass();
+    Class<?> parameterType = setter.getParameterTypes()[0];
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass,
+          MethodHandles.lookup());
+      CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+          MethodType.methodType(setterType),
+          MethodType.methodType(void.class, Object.class, parameterType), handle,
+          MethodType.methodType(void.class, declaringClass, parameterType));
+      return setterType.cast(site.getTarget().invoke());
+    } catch (Throwable e) {
+      return MethodHandleProxies.asInterfaceInstance(setterType,
+          handle.asType(MethodType.methodType(void.class, Object.class, parameterType)));
+    }
+  }
+
+  static MethodHandle unreflect(Class<?> beanType, Method method) {
+    try {
+      return lookupFor(method.getDeclaringClass()).unreflect(method);
+    } catch (IllegalAccessException e) {
+      throw new SuperCsvReflectionException(
+          String.format("unable to access method %s of class %s", method.getName(),
+              beanType.getName()), e);
+    }
+  }
+
+  // private access where the bean's module allows it, e.g. for public methods of nested classes
+  private static MethodHandles.Lookup lookupFor(Class<?> type) {
+    try {
+      return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+    } catch (IllegalAccessException | RuntimeException e) {
+      return MethodHandles.publicLookup();
+    }
+  }
+
+  private static Object invoke(MethodHandle getter, Object bean) {
+    try {
+      return getter.invokeExact(bean);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new SuperCsvReflectionException("error invoking getter", e);
+    }
+  }
+
+  private static Object invoke(MethodHandle constructor) {
+    try {
+      return constructor.invokeExact();
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new SuperCsvReflectionException("error instantiating bean", e);
+    }
+  }
+
+  private static void invoke(MethodHandle setter, Object bean, Object value) {
+    try {
+      setter.invokeExact(bean, value);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new SuperCsvReflectionException("error invoking setter", e);
+    }
+  }
+}
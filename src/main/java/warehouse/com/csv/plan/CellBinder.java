@@ -0,0 +1,16 @@
+package warehouse.com.csv.plan;
+
+import org.supercsv.util.CsvContext;
+
+/**
+ * Converts a raw cell and stores it in its entity field in one step, for processors which can
+ * parse the cell characters themselves.
+ */
+@FunctionalInterface
+interface CellBinder {
+
+  /**
+   * @param cell raw cell, {@code null} for an empty cell
+   */
+  void bind(Object entity, CharSequence cell, CsvContext context);
+}
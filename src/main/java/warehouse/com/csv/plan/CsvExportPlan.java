@@ -0,0 +1,83 @@
+package warehouse.com.csv.plan;
+
+import java.util.List;
+import java.util.function.Function;
+import org.apache.commons.lang3.Validate;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+
+/**
+ * Precompiled description of how entities of one type are turned into CSV rows: the field names
+ * and processors as arrays plus a compiled getter per field. Building a plan resolves the getters
+ * once (they are cached per class), so exporting a row is a few interface calls instead of
+ * reflective lookups and array copies. Plans are immutable and may be shared between threads and
+ * exports.
+ *
+ * @param <T> exported entity type
+ */
+public final class CsvExportPlan<T> {
+
+  private final Class<T> entityType;
+  private final String[] fieldNames;
+  private final CellProcessor[] cellProcessors;
+  private final Function<Object, Object>[] getters;
+
+  private CsvExportPlan(Class<T> entityType, String[] fieldNames,
+      CellProcessor[] cellProcessors) {
+    this.entityType = entityType;
+    this.fieldNames = fieldNames;
+    this.cellProcessors = cellProcessors;
+    this.getters = newGetterArray(fieldNames.length);
+    for (int i = 0; i < fieldNames.length; i++) {
+      getters[i] = BeanAccessors.getter(entityType, fieldNames[i]);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object>[] newGetterArray(int length) {
+    return (Function<Object, Object>[]) new Function<?, ?>[length];
+  }
+
+  /**
+   * @param fields         bean field per column, a {@code null} field produces an empty column
+   * @param cellProcessors processor per column or {@code null} to write the values as they are
+   */
+  public static <T> CsvExportPlan<T> of(Class<T> entityType, List<String> fields,
+      List<CellProcessor> cellProcessors) {
+    Validate.notNull(entityType, "Entity type must not be null");
+    return new CsvExportPlan<>(entityType, fields.toArray(String[]::new),
+        cellProcessors == null ? null : cellProcessors.toArray(CellProcessor[]::new));
+  }
+
+  /**
+   * Plan with the same fields and processors for another entity type, used when an export mixes
+   * entities of different classes.
+   */
+  public <S> CsvExportPlan<S> forType(Class<S> otherType) {
+    return new CsvExportPlan<>(otherType, fieldNames, cellProcessors);
+  }
+
+  public Class<T> getEntityType() {
+    return entityType;
+  }
+
+  public int getColumnCount() {
+    return fieldNames.length;
+  }
+
+  /**
+   * @return processors per column or {@code null}, the array is shared and must not be modified
+   */
+  public CellProcessor[] getCellProcessors() {
+    return cellProcessors;
+  }
+
+  /**
+   * Reads the field values of the entity into {@code values}, which has to hold at least
+   * {@link #getColumnCount()} elements, so one array can be reused for all rows.
+   */
+  public void extractValues(Object entity, Object[] values) {
+    for (int i = 0; i < getters.length; i++) {
+      values[i] = getters[i].apply(entity);
+    }
+  }
+}
@@ -0,0 +1,245 @@
+package warehouse.com.csv.plan;
+
+import com.google.common.cache.CacheBuilder;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.util.ReflectionUtils;
+import warehouse.com.csv.processor.BigDecimalCellProcessor;
+import warehouse.com.csv.processor.CellProcessorCompiler;
+import warehouse.com.csv.processor.DoubleCellProcessor;
+import warehouse.com.csv.processor.IntCellProcessor;
+import warehouse.com.csv.processor.LongCellProcessor;
+
+/**
+ * Precompiled description of how CSV rows are turned into entities of one type: a compiled
+ * constructor and a compiled setter per column. Populating a bean follows
+ * {@link org.supercsv.io.CsvBeanReader}: {@code null} values and unmapped columns are skipped and
+ * the setter is chosen by the runtime type of the value. Plans are cached per entity type and
+ * field list, the least recently used ones are evicted beyond {@value #MAX_PLANS_PER_TYPE} field
+ * lists per type. They are immutable and may be shared between threads.
+ *
+ * @param <T> imported entity type
+ */
+public final class CsvImportPlan<T> {
+
+  // field lists follow the column order of the imported files, so the plans per type are bounded
+  static final int MAX_PLANS_PER_TYPE = 64;
+  private static final ClassValue<ConcurrentMap<List<String>, CsvImportPlan<?>>> PLANS =
+      new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<List<String>, CsvImportPlan<?>> computeValue(Class<?> type) {
+          return CacheBuilder.newBuilder()
+              .maximumSize(MAX_PLANS_PER_TYPE)
+              .<List<String>, CsvImportPlan<?>>build()
+              .asMap();
+        }
+      };
+
+  private final Class<T> entityType;
+  private final Supplier<T> constructor;
+  private final FieldSetter[] setters;
+
+  private CsvImportPlan(Class<T> entityType, List<String> fieldNames) {
+    this.entityType = entityType;
+    this.constructor = BeanAccessors.constructor(entityType);
+    this.setters = new FieldSetter[fieldNames.size()];
+    for (int i = 0; i < setters.length; i++) {
+      String fieldName = fieldNames.get(i);
+      setters[i] = fieldName == null ? null : new FieldSetter(entityType, fieldName);
+    }
+  }
+
+  /**
+   * @param fieldNames bean field per column, columns with a {@code null} field are ignored
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> CsvImportPlan<T> of(Class<T> entityType, List<String> fieldNames) {
+    Validate.notNull(entityType, "Entity type must not be null");
+    Validate.notNull(fieldNames, "Field names must not be null");
+    ConcurrentMap<List<String>, CsvImportPlan<?>> plans = PLANS.get(entityType);
+    CsvImportPlan<?> plan = plans.get(fieldNames);
+    if (plan == null) {
+      plan = plans.computeIfAbsent(Arrays.asList(fieldNames.toArray(String[]::new)),
+          names -> new CsvImportPlan<>(entityType, names));
+    }
+    return (CsvImportPlan<T>) plan;
+  }
+
+  public Class<T> getEntityType() {
+    return entityType;
+  }
+
+  public int getColumnCount() {
+    return setters.length;
+  }
+
+  /**
+   * @return whether the column is bound to a field
+   */
+  public boolean isMapped(int column) {
+    return setters[column] != null;
+  }
+
+  /**
+   * Creates an entity populated with the given column values.
+   *
+   * @param values processed values, one per column
+   */
+  public T populate(List<?> values) {
+    T entity = constructor.get();
+    for (int i = 0; i < setters.length; i++) {
+      set(entity, i, values.get(i));
+    }
+    return entity;
+  }
+
+  T newEntity() {
+    return constructor.get();
+  }
+
+  void set(T entity, int column, Object value) {
+    if (setters[column] != null && value != null) {
+      setters[column].set(entity, value);
+    }
+  }
+
+  /**
+   * @return binder per column whose processor parses raw cells itself, {@code null} when no
+   *     column qualifies
+   */
+  CellBinder[] binders(CellProcessor[] cellProcessors) {
+    if (cellProcessors.length != setters.length) {
+      return null;
+    }
+    CellBinder[] binders = new CellBinder[setters.length];
+    boolean bound = false;
+    for (int i = 0; i < setters.length; i++) {
+      if (setters[i] != null) {
+        binders[i] = setters[i].binder(cellProcessors[i]);
+        bound |= binders[i] != null;
+      }
+    }
+    return bound ? binders : null;
+  }
+
+  private static final class FieldSetter {
+
+    private final Class<?> beanType;
+    private final String fieldName;
+    // compiled setter and its boxed parameter type when the setter is not overloaded
+    private final Method method;
+    private final Class<?> parameterType;
+    private final BiConsumer<Object, Object> setter;
+    private final Map<Class<?>, BiConsumer<Object, Object>> settersByValueType =
+        new ConcurrentHashMap<>();
+
+    private FieldSetter(Class<?> beanType, String fieldName) {
+      this.beanType = beanType;
+      this.fieldName = fieldName;
+      String setterName = "set" + StringUtils.capitalize(fieldName);
+      List<Method> candidates = Stream.of(beanType.getMethods())
+          .filter(method -> method.getName().equals(setterName))
+          .filter(method -> method.getParameterCount() == 1)
+          .toList();
+      if (candidates.size() == 1) {
+        this.method = candidates.get(0);
+        this.parameterType = wrap(method.getParameterTypes()[0]);
+        this.setter = BeanAccessors.setter(beanType, method);
+      } else {
+        this.method = null;
+        this.parameterType = null;
+        this.setter = null;
+      }
+    }
+
+    private void set(Object bean, Object value) {
+      if (setter != null && parameterType.isInstance(value)) {
+        setter.accept(bean, value);
+      } else {
+        settersByValueType.computeIfAbsent(value.getClass(), valueType ->
+                BeanAccessors.setter(beanType,
+                    ReflectionUtils.findSetter(bean, fieldName, valueType)))
+            .accept(bean, value);
+      }
+    }
+
+    // an optional or null converting link leaves the field at its default or sets the
+    // replacement for empty cells, the numeric processor behind it binds the others
+    private CellBinder binder(CellProcessor processor) {
+      CellProcessor numericProcessor = CellProcessorCompiler.nextOfNullReplacement(processor);
+      if (numericProcessor == null) {
+        return numericBinder(processor);
+      }
+      CellBinder binder = numericBinder(numericProcessor);
+      if (binder == null) {
+        return null;
+      }
+      Object nullReplacement = CellProcessorCompiler.nullReplacement(processor);
+      return (entity, cell, context) -> {
+        if (cell != null) {
+          binder.bind(entity, cell, context);
+        } else if (nullReplacement != null) {
+          set(entity, nullReplacement);
+        }
+      };
+    }
+
+    // primitive values go straight to a primitive setter, others through the boxed setters,
+    // processors followed by other links run as they are
+    @SuppressWarnings("unchecked")
+    private CellBinder numericBinder(CellProcessor processor) {
+      if (!CellProcessorCompiler.endsChain(processor)) {
+        return null;
+      }
+      Class<?> primitiveType = method == null ? null : method.getParameterTypes()[0];
+      if (processor instanceof IntCellProcessor intProcessor) {
+        if (primitiveType == int.class) {
+          ObjIntConsumer<Object> intSetter = BeanAccessors.primitiveSetter(beanType, method,
+              ObjIntConsumer.class);
+          return (entity, cell, context) ->
+              intSetter.accept(entity, intProcessor.parseInt(cell, context));
+        }
+        return (entity, cell, context) -> set(entity, intProcessor.parseInt(cell, context));
+      } else if (processor instanceof LongCellProcessor longProcessor) {
+        if (primitiveType == long.class) {
+          ObjLongConsumer<Object> longSetter = BeanAccessors.primitiveSetter(beanType, method,
+              ObjLongConsumer.class);
+          return (entity, cell, context) ->
+              longSetter.accept(entity, longProcessor.parseLong(cell, context));
+        }
+        return (entity, cell, context) -> set(entity, longProcessor.parseLong(cell, context));
+      } else if (processor instanceof DoubleCellProcessor doubleProcessor) {
+        if (primitiveType == double.class) {
+          ObjDoubleConsumer<Object> doubleSetter = BeanAccessors.primitiveSetter(beanType,
+              method, ObjDoubleConsumer.class);
+          return (entity, cell, context) ->
+              doubleSetter.accept(entity, doubleProcessor.parseDouble(cell, context));
+        }
+        return (entity, cell, context) ->
+            set(entity, doubleProcessor.parseDouble(cell, context));
+      } else if (processor instanceof BigDecimalCellProcessor decimalProcessor) {
+        return (entity, cell, context) ->
+            set(entity, decimalProcessor.parseBigDecimal(cell, context));
+      }
+      return null;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+      return MethodType.methodType(type).wrap().returnType();
+    }
+  }
+}
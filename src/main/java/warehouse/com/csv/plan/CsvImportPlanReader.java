@@ -0,0 +1,225 @@
+package warehouse.com.csv.plan;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.io.ICsvReader;
+import org.supercsv.prefs.CsvPreference;
+import org.supercsv.util.CsvContext;
+import org.supercsv.util.Util;
+import warehouse.com.csv.parser.CsvParserEngine;
+import warehouse.com.csv.parser.CsvRowFilter;
+import warehouse.com.csv.parser.CsvRowSource;
+import warehouse.com.csv.parser.CsvStringPool;
+import warehouse.com.csv.processor.CellProcessorCompiler;
+
+/**
+ * CSV reader populating entities through a {@link CsvImportPlan}, the equivalent of
+ * {@link org.supercsv.io.CsvBeanReader} without per-row reflection. Without cell processors only
+ * the cells bound to a field are turned into strings. Cells of the numeric processors in
+ * {@code warehouse.com.csv.processor} are parsed from their characters and never become strings,
+ * other processor chains run compiled by {@link CellProcessorCompiler}. Columns which are neither
+ * bound to a field nor processed are projected out: they are not turned into strings and row
+ * sources supporting {@link CsvRowSource#project(boolean[])} do not tokenize their cells.
+ */
+public class CsvImportPlanReader implements ICsvReader {
+
+  private final CsvRowSource rowSource;
+  private final List<Object> columns = new ArrayList<>();
+  private final List<Object> processedColumns = new ArrayList<>();
+  // compiled processors, binders and projection of the last plan and processors, callers pass
+  // the same ones for every row
+  private CsvImportPlan<?> boundPlan;
+  private CellProcessor[] boundProcessors;
+  private CellProcessor[] compiledProcessors;
+  private CellBinder[] binders;
+  private boolean[] neededColumns;
+  private CsvRowFilter rowFilter;
+  private int[] filterColumns;
+  private CharSequence[] filterCells;
+  private CsvStringPool[] stringPools;
+
+  public CsvImportPlanReader(Reader reader, CsvPreference preferences) {
+    this(CsvParserEngine.SUPER_CSV.open(reader, preferences));
+  }
+
+  public CsvImportPlanReader(CsvRowSource rowSource) {
+    this.rowSource = rowSource;
+  }
+
+  /**
+   * Skips the rows rejected by the filter. The filter sees the raw cells right after a row is
+   * tokenized, before any cell is converted or processed. Skipped rows still count in the row
+   * numbers.
+   *
+   * @param columns zero-based column of each filter header
+   */
+  public void setRowFilter(CsvRowFilter rowFilter, int[] columns) {
+    this.rowFilter = rowFilter;
+    this.filterColumns = columns;
+    this.filterCells = new CharSequence[columns.length];
+    boundPlan = null;
+  }
+
+  /**
+   * Deduplicates the string values of the columns with a pool, raw cells are looked up before a
+   * string is created and processed strings are pooled as well.
+   *
+   * @param stringPools pool per column, {@code null} for columns which are not deduplicated
+   */
+  public void setStringPools(CsvStringPool[] stringPools) {
+    this.stringPools = stringPools;
+  }
+
+  /**
+   * Reads the next row accepted by the row filter into a new entity.
+   *
+   * @param cellProcessors processor per column, none to use the raw column values
+   * @return the entity or {@code null} at the end of the file
+   * @throws IllegalArgumentException if the row does not have one column per plan field
+   */
+  public <T> T read(CsvImportPlan<T> plan, CellProcessor... cellProcessors) throws IOException {
+    boolean processed = cellProcessors != null && cellProcessors.length > 0;
+    bind(plan, processed ? cellProcessors : null);
+    int length;
+    do {
+      if (!rowSource.readRow()) {
+        return null;
+      }
+      length = rowSource.length();
+      if (plan.getColumnCount() != length) {
+        throw new IllegalArgumentException(String.format(
+            "the nameMapping array and the number of columns read should be the same size "
+                + "(nameMapping length = %d, columns = %d)", plan.getColumnCount(), length));
+      }
+    } while (!isAccepted());
+    columns.clear();
+    for (int i = 0; i < length; i++) {
+      // processors see every column they are set for, as with the bean reader
+      boolean converted = neededColumns[i] && (binders == null || binders[i] == null);
+      columns.add(converted ? cellString(i) : null);
+    }
+    if (!processed) {
+      return plan.populate(columns);
+    }
+    if (binders != null) {
+      return readBound(plan, compiledProcessors, binders);
+    }
+    Util.executeCellProcessors(processedColumns, columns, compiledProcessors,
+        rowSource.getLineNumber(), rowSource.getRowNumber());
+    if (stringPools != null) {
+      for (int i = 0; i < length; i++) {
+        processedColumns.set(i, pooled(i, processedColumns.get(i)));
+      }
+    }
+    return plan.populate(processedColumns);
+  }
+
+  private boolean isAccepted() {
+    if (rowFilter == null) {
+      return true;
+    }
+    for (int i = 0; i < filterColumns.length; i++) {
+      filterCells[i] = rowSource.getCell(filterColumns[i]);
+    }
+    return rowFilter.test(filterCells);
+  }
+
+  // column by column like Util.executeCellProcessors, bound cells are parsed from the raw
+  // characters and appear as null in the context row source
+  private <T> T readBound(CsvImportPlan<T> plan, CellProcessor[] cellProcessors,
+      CellBinder[] binders) {
+    CsvContext context = new CsvContext(rowSource.getLineNumber(), rowSource.getRowNumber(), 1);
+    context.setRowSource(new ArrayList<>(columns));
+    T entity = plan.newEntity();
+    for (int i = 0; i < binders.length; i++) {
+      context.setColumnNumber(i + 1);
+      if (binders[i] != null) {
+        binders[i].bind(entity, rowSource.getCell(i), context);
+      } else {
+        Object value = columns.get(i);
+        plan.set(entity, i, cellProcessors[i] == null ? value
+            : pooled(i, cellProcessors[i].execute(value, context)));
+      }
+    }
+    return entity;
+  }
+
+  private void bind(CsvImportPlan<?> plan, CellProcessor[] cellProcessors) {
+    if (plan == boundPlan && cellProcessors == boundProcessors) {
+      return;
+    }
+    if (cellProcessors != boundProcessors) {
+      boundProcessors = cellProcessors;
+      compiledProcessors = CellProcessorCompiler.compile(cellProcessors);
+    }
+    boundPlan = plan;
+    binders = cellProcessors == null ? null : plan.binders(cellProcessors);
+    neededColumns = new boolean[plan.getColumnCount()];
+    for (int i = 0; i < neededColumns.length; i++) {
+      neededColumns[i] = plan.isMapped(i)
+          || cellProcessors != null && (i >= cellProcessors.length || cellProcessors[i] != null);
+    }
+    if (rowFilter != null) {
+      for (int column : filterColumns) {
+        neededColumns[column] = true;
+      }
+    }
+    rowSource.project(neededColumns);
+  }
+
+  @Override
+  public String get(int n) {
+    return rowSource.get(n);
+  }
+
+  @Override
+  public String[] getHeader(boolean firstLineCheck) throws IOException {
+    return rowSource.getHeader(firstLineCheck);
+  }
+
+  @Override
+  public int getLineNumber() {
+    return rowSource.getLineNumber();
+  }
+
+  @Override
+  public String getUntokenizedRow() {
+    return rowSource.getUntokenizedRow();
+  }
+
+  @Override
+  public int getRowNumber() {
+    return rowSource.getRowNumber();
+  }
+
+  @Override
+  public int length() {
+    return rowSource.length();
+  }
+
+  @Override
+  public void close() throws IOException {
+    rowSource.close();
+  }
+
+  private String cellString(int column) {
+    CharSequence cell = rowSource.getCell(column);
+    if (cell == null) {
+      return null;
+    }
+    CsvStringPool pool = stringPools == null || column >= stringPools.length
+        ? null : stringPools[column];
+    return pool == null ? cell.toString() : pool.get(cell);
+  }
+
+  private Object pooled(int column, Object value) {
+    if (value instanceof String text && stringPools != null && column < stringPools.length
+        && stringPools[column] != null) {
+      return stringPools[column].get(text);
+    }
+    return value;
+  }
+}
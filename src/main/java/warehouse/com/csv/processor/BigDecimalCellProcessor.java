@@ -0,0 +1,91 @@
+package warehouse.com.csv.processor;
+
+import java.math.BigDecimal;
+import org.supercsv.cellprocessor.CellProcessorAdaptor;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.StringCellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Parses a cell as a {@link BigDecimal}, like {@link org.supercsv.cellprocessor.ParseBigDecimal}.
+ * When the processor ends the chain, alone or behind an
+ * {@link org.supercsv.cellprocessor.Optional} or {@link org.supercsv.cellprocessor.ConvertNullTo},
+ * imports through {@link warehouse.com.csv.plan.CsvImportPlanReader} parse the cell characters
+ * directly. Plain decimals of up to 18 digits are converted from their unscaled value without
+ * creating a string.
+ */
+public class BigDecimalCellProcessor extends CellProcessorAdaptor implements StringCellProcessor {
+
+  private static final int MAX_LONG_DIGITS = 18;
+
+  public BigDecimalCellProcessor() {
+  }
+
+  /**
+   * @param next processor receiving the parsed {@link BigDecimal}
+   */
+  public BigDecimalCellProcessor(CellProcessor next) {
+    super(next);
+  }
+
+  @Override
+  public <T> T execute(Object value, CsvContext context) {
+    validateInputNotNull(value, context);
+    if (value instanceof BigDecimal) {
+      return next.execute(value, context);
+    }
+    if (!(value instanceof CharSequence)) {
+      throw new SuperCsvCellProcessorException(String.class, value, context, this);
+    }
+    return next.execute(parseBigDecimal((CharSequence) value, context), context);
+  }
+
+  public BigDecimal parseBigDecimal(CharSequence cell, CsvContext context) {
+    validateInputNotNull(cell, context);
+    BigDecimal value = parsePlainDecimal(cell);
+    if (value != null) {
+      return value;
+    }
+    try {
+      return new BigDecimal(cell.toString());
+    } catch (NumberFormatException e) {
+      throw new SuperCsvCellProcessorException(
+          String.format("'%s' could not be parsed as a BigDecimal", cell), context, this, e);
+    }
+  }
+
+  // same unscaled value and scale as the string constructor, null for anything but plain digits
+  private static BigDecimal parsePlainDecimal(CharSequence cell) {
+    int length = cell.length();
+    int index = 0;
+    boolean negative = false;
+    if (length > 0 && (cell.charAt(0) == '-' || cell.charAt(0) == '+')) {
+      negative = cell.charAt(0) == '-';
+      index++;
+    }
+    long unscaled = 0;
+    int digitCount = 0;
+    int scale = -1;
+    for (; index < length; index++) {
+      char c = cell.charAt(index);
+      if (c >= '0' && c <= '9') {
+        if (++digitCount > MAX_LONG_DIGITS) {
+          return null;
+        }
+        unscaled = unscaled * 10 + (c - '0');
+        if (scale >= 0) {
+          scale++;
+        }
+      } else if (c == '.' && scale < 0) {
+        scale = 0;
+      } else {
+        return null;
+      }
+    }
+    if (digitCount == 0) {
+      return null;
+    }
+    return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+  }
+}
@@ -0,0 +1,164 @@
+package warehouse.com.csv.processor;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.supercsv.cellprocessor.CellProcessorAdaptor;
+import org.supercsv.cellprocessor.ConvertNullTo;
+import org.supercsv.cellprocessor.Optional;
+import org.supercsv.cellprocessor.ParseBigDecimal;
+import org.supercsv.cellprocessor.ParseDouble;
+import org.supercsv.cellprocessor.ParseInt;
+import org.supercsv.cellprocessor.ParseLong;
+import org.supercsv.cellprocessor.Trim;
+import org.supercsv.cellprocessor.constraint.NotNull;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+
+/**
+ * Flattens processor chains into a single {@link CellProcessor} per column. Leading links of
+ * known types ({@link Optional}, {@link ConvertNullTo}, {@link NotNull}, {@link Trim},
+ * {@link UpperCaseCellProcessor} and the Super CSV {@code Parse*} processors) run as one loop
+ * instead of nested calls, and consecutive trim and upper case links produce a single string.
+ * The first link of any other type runs as it is, together with the rest of its chain. Results
+ * and exceptions, including the processor they report, are the same as for the original chain.
+ */
+@Slf4j
+public final class CellProcessorCompiler {
+
+  private static final Field NEXT = accessibleField(CellProcessorAdaptor.class, "next");
+  private static final Field NULL_REPLACEMENT = accessibleField(ConvertNullTo.class,
+      "returnValue");
+  private static final Field DECIMAL_SYMBOLS = accessibleField(ParseBigDecimal.class, "symbols");
+  // the processor Super CSV terminates chains with, it does nothing
+  private static final CellProcessor END_OF_CHAIN = NEXT == null ? null : next(new Trim());
+
+  private CellProcessorCompiler() {
+  }
+
+  /**
+   * @return compiled processor per column, {@code null} entries stay {@code null}
+   */
+  public static CellProcessor[] compile(CellProcessor... processors) {
+    if (processors == null) {
+      return null;
+    }
+    CellProcessor[] compiled = new CellProcessor[processors.length];
+    for (int i = 0; i < processors.length; i++) {
+      compiled[i] = compile(processors[i]);
+    }
+    return compiled;
+  }
+
+  /**
+   * @return fused processor, or the given one when its first link is not known
+   */
+  public static CellProcessor compile(CellProcessor processor) {
+    if (processor == null || processor instanceof FusedCellProcessor || NEXT == null
+        || NULL_REPLACEMENT == null || DECIMAL_SYMBOLS == null) {
+      return processor;
+    }
+    List<FusedCellProcessor.Step> steps = new ArrayList<>();
+    CellProcessor link = processor;
+    while (isKnown(link)) {
+      CellProcessor next = next(link);
+      Class<?> type = link.getClass();
+      if (type == Optional.class || type == ConvertNullTo.class) {
+        steps.add(new FusedCellProcessor.NullReplacement(read(NULL_REPLACEMENT, link)));
+      } else if (type == NotNull.class) {
+        steps.add(new FusedCellProcessor.NotNullCheck(link));
+      } else if (type == Trim.class || type == UpperCaseCellProcessor.class) {
+        if (steps.isEmpty()
+            || !(steps.get(steps.size() - 1) instanceof FusedCellProcessor.Text)) {
+          steps.add(new FusedCellProcessor.Text());
+        }
+        ((FusedCellProcessor.Text) steps.get(steps.size() - 1)).add(link, type == Trim.class);
+      } else {
+        steps.add(parse(link));
+      }
+      link = next;
+    }
+    if (steps.isEmpty()) {
+      return processor;
+    }
+    return new FusedCellProcessor(processor, steps, link == END_OF_CHAIN ? null : link);
+  }
+
+  /**
+   * @return whether no other link follows the processor, {@code false} when this cannot be told
+   */
+  public static boolean endsChain(CellProcessor processor) {
+    return NEXT != null && processor instanceof CellProcessorAdaptor
+        && next(processor) == END_OF_CHAIN;
+  }
+
+  /**
+   * @return link following an {@link Optional} or {@link ConvertNullTo}, {@code null} for other
+   *     processors, at the end of the chain or when the links cannot be read
+   */
+  public static CellProcessor nextOfNullReplacement(CellProcessor processor) {
+    if (NEXT == null || NULL_REPLACEMENT == null || processor == null
+        || processor.getClass() != Optional.class && processor.getClass() != ConvertNullTo.class) {
+      return null;
+    }
+    CellProcessor next = next(processor);
+    return next == END_OF_CHAIN ? null : next;
+  }
+
+  /**
+   * @return value an {@link Optional} or {@link ConvertNullTo} returns for {@code null} cells
+   * @see #nextOfNullReplacement(CellProcessor)
+   */
+  public static Object nullReplacement(CellProcessor processor) {
+    return read(NULL_REPLACEMENT, processor);
+  }
+
+  private static boolean isKnown(CellProcessor link) {
+    Class<?> type = link.getClass();
+    return type == Optional.class || type == ConvertNullTo.class || type == NotNull.class
+        || type == Trim.class || type == UpperCaseCellProcessor.class || type == ParseInt.class
+        || type == ParseLong.class || type == ParseDouble.class
+        || type == ParseBigDecimal.class && read(DECIMAL_SYMBOLS, link) == null;
+  }
+
+  private static FusedCellProcessor.Step parse(CellProcessor link) {
+    Class<?> type = link.getClass();
+    if (type == ParseInt.class) {
+      return new FusedCellProcessor.Parse(link, Integer.class,
+          "'%s' could not be parsed as an Integer", Integer::valueOf);
+    } else if (type == ParseLong.class) {
+      return new FusedCellProcessor.Parse(link, Long.class,
+          "'%s' could not be parsed as an Long", Long::valueOf);
+    } else if (type == ParseDouble.class) {
+      return new FusedCellProcessor.Parse(link, Double.class,
+          "'%s' could not be parsed as a Double", Double::valueOf);
+    }
+    return new FusedCellProcessor.Parse(link, null,
+        "'%s' could not be parsed as a BigDecimal", BigDecimal::new);
+  }
+
+  private static CellProcessor next(CellProcessor link) {
+    return (CellProcessor) read(NEXT, link);
+  }
+
+  private static Object read(Field field, Object target) {
+    try {
+      return field.get(target);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Field accessibleField(Class<?> type, String name) {
+    try {
+      Field field = type.getDeclaredField(name);
+      field.setAccessible(true);
+      return field;
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      log.warn("Processor chains are not compiled, {}.{} is not accessible", type.getName(),
+          name);
+      return null;
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package warehouse.com.csv.processor;
+
+import org.supercsv.cellprocessor.CellProcessorAdaptor;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.StringCellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Parses a cell as a {@code double}, like {@link org.supercsv.cellprocessor.ParseDouble}. When
+ * the processor ends the chain, alone or behind an {@link org.supercsv.cellprocessor.Optional} or
+ * {@link org.supercsv.cellprocessor.ConvertNullTo}, imports through
+ * {@link warehouse.com.csv.plan.CsvImportPlanReader} parse the cell characters directly and call
+ * a {@code double} setter without boxing. A following processor receives the boxed value. Plain
+ * decimals of up to 15 digits are converted without creating a string.
+ */
+public class DoubleCellProcessor extends CellProcessorAdaptor implements StringCellProcessor {
+
+  private static final int MAX_EXACT_DIGITS = 15;
+  private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8,
+      1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15};
+
+  public DoubleCellProcessor() {
+  }
+
+  /**
+   * @param next processor receiving the parsed {@link Double}
+   */
+  public DoubleCellProcessor(CellProcessor next) {
+    super(next);
+  }
+
+  @Override
+  public <T> T execute(Object value, CsvContext context) {
+    validateInputNotNull(value, context);
+    if (value instanceof Double) {
+      return next.execute(value, context);
+    }
+    if (!(value instanceof CharSequence)) {
+      throw new SuperCsvCellProcessorException(String.class, value, context, this);
+    }
+    return next.execute(parseDouble((CharSequence) value, context), context);
+  }
+
+  public double parseDouble(CharSequence cell, CsvContext context) {
+    validateInputNotNull(cell, context);
+    double value = parsePlainDecimal(cell);
+    if (!Double.isNaN(value)) {
+      return value;
+    }
+    try {
+      return Double.parseDouble(cell.toString());
+    } catch (NumberFormatException e) {
+      throw new SuperCsvCellProcessorException(
+          String.format("'%s' could not be parsed as a Double", cell), context, this, e);
+    }
+  }
+
+  // both the digits and the power of ten are exact doubles, so a single division rounds
+  // correctly; NaN for anything else
+  private static double parsePlainDecimal(CharSequence cell) {
+    int length = cell.length();
+    int index = 0;
+    boolean negative = false;
+    if (length > 0 && (cell.charAt(0) == '-' || cell.charAt(0) == '+')) {
+      negative = cell.charAt(0) == '-';
+      index++;
+    }
+    long digits = 0;
+    int digitCount = 0;
+    int scale = -1;
+    for (; index < length; index++) {
+      char c = cell.charAt(index);
+      if (c >= '0' && c <= '9') {
+        if (++digitCount > MAX_EXACT_DIGITS) {
+          return Double.NaN;
+        }
+        digits = digits * 10 + (c - '0');
+        if (scale >= 0) {
+          scale++;
+        }
+      } else if (c == '.' && scale < 0) {
+        scale = 0;
+      } else {
+        return Double.NaN;
+      }
+    }
+    if (digitCount == 0) {
+      return Double.NaN;
+    }
+    double value = scale > 0 ? digits / POWERS_OF_TEN[scale] : digits;
+    return negative ? -value : value;
+  }
+}
@@ -0,0 +1,158 @@
+package warehouse.com.csv.processor;
+
+import java.util.List;
+import java.util.function.Function;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.exception.SuperCsvConstraintViolationException;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Processor chain compiled by {@link CellProcessorCompiler}. Values which are neither
+ * {@code null} nor strings, which cell processors only get when called directly, are handed to
+ * the original chain.
+ */
+final class FusedCellProcessor implements CellProcessor {
+
+  private static final String NULL_INPUT_MESSAGE = "this processor does not accept null input - "
+      + "if the column is optional then chain an Optional() processor before this one";
+
+  private final CellProcessor original;
+  private final Step[] steps;
+  // first link which is not fused, together with the rest of its chain
+  private final CellProcessor remainder;
+
+  FusedCellProcessor(CellProcessor original, List<Step> steps, CellProcessor remainder) {
+    this.original = original;
+    this.steps = steps.toArray(Step[]::new);
+    this.remainder = remainder;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T execute(Object value, CsvContext context) {
+    if (value != null && !(value instanceof String)) {
+      return original.execute(value, context);
+    }
+    Object result = value;
+    for (Step step : steps) {
+      if (result == null && step instanceof NullReplacement replacement) {
+        return (T) replacement.value;
+      }
+      result = step.apply(result, context);
+    }
+    return remainder == null ? (T) result : remainder.execute(result, context);
+  }
+
+  @Override
+  public String toString() {
+    return original.toString();
+  }
+
+  interface Step {
+
+    Object apply(Object value, CsvContext context);
+  }
+
+  /**
+   * {@code Optional} or {@code ConvertNullTo}: ends the chain with the replacement for null.
+   */
+  record NullReplacement(Object value) implements Step {
+
+    @Override
+    public Object apply(Object value, CsvContext context) {
+      return value;
+    }
+  }
+
+  record NotNullCheck(CellProcessor processor) implements Step {
+
+    @Override
+    public Object apply(Object value, CsvContext context) {
+      if (value == null) {
+        throw new SuperCsvConstraintViolationException("null value encountered", context,
+            processor);
+      }
+      return value;
+    }
+  }
+
+  /**
+   * Consecutive {@code Trim} and {@link UpperCaseCellProcessor} links. Both operations commute,
+   * upper case mapping neither produces nor changes the characters trimmed, so they are applied
+   * together on one copy.
+   */
+  static final class Text implements Step {
+
+    // first trim link, null passes any upper case links before it and fails there
+    private CellProcessor trim;
+    private boolean upperCase;
+
+    void add(CellProcessor processor, boolean trimming) {
+      if (trimming) {
+        if (trim == null) {
+          trim = processor;
+        }
+      } else {
+        upperCase = true;
+      }
+    }
+
+    @Override
+    public Object apply(Object value, CsvContext context) {
+      if (value == null) {
+        if (trim != null) {
+          throw new SuperCsvCellProcessorException(NULL_INPUT_MESSAGE, context, trim);
+        }
+        return null;
+      }
+      String text = value.toString();
+      int start = 0;
+      int end = text.length();
+      if (trim != null) {
+        while (start < end && text.charAt(start) <= ' ') {
+          start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+          end--;
+        }
+      }
+      return upperCase ? UpperCaseCellProcessor.toUpperCase(text, start, end)
+          : text.substring(start, end);
+    }
+  }
+
+  /**
+   * Super CSV {@code Parse*} processor.
+   *
+   * @param type   parsed type passed on as it is, {@code null} when only strings are accepted
+   * @param format message for values which cannot be parsed
+   */
+  record Parse(CellProcessor processor, Class<?> type, String format,
+               Function<String, Object> parser) implements Step {
+
+    @Override
+    public Object apply(Object value, CsvContext context) {
+      if (value == null) {
+        throw new SuperCsvCellProcessorException(NULL_INPUT_MESSAGE, context, processor);
+      }
+      if (type != null && type.isInstance(value)) {
+        return value;
+      }
+      if (!(value instanceof String)) {
+        if (type == null) {
+          throw new SuperCsvCellProcessorException(String.class, value, context, processor);
+        }
+        throw new SuperCsvCellProcessorException(String.format(
+            "the input value should be of type %s or String but is of type %s",
+            type.getSimpleName(), value.getClass().getName()), context, processor);
+      }
+      try {
+        return parser.apply((String) value);
+      } catch (NumberFormatException e) {
+        throw new SuperCsvCellProcessorException(String.format(format, value), context,
+            processor, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package warehouse.com.csv.processor;
+
+import org.supercsv.cellprocessor.CellProcessorAdaptor;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.StringCellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Parses a cell as an {@code int}, like {@link org.supercsv.cellprocessor.ParseInt}. When the
+ * processor ends the chain, alone or behind an {@link org.supercsv.cellprocessor.Optional} or
+ * {@link org.supercsv.cellprocessor.ConvertNullTo}, imports through
+ * {@link warehouse.com.csv.plan.CsvImportPlanReader} parse the cell characters directly and call
+ * an {@code int} setter without boxing. A following processor receives the boxed value.
+ */
+public class IntCellProcessor extends CellProcessorAdaptor implements StringCellProcessor {
+
+  public IntCellProcessor() {
+  }
+
+  /**
+   * @param next processor receiving the parsed {@link Integer}
+   */
+  public IntCellProcessor(CellProcessor next) {
+    super(next);
+  }
+
+  @Override
+  public <T> T execute(Object value, CsvContext context) {
+    validateInputNotNull(value, context);
+    if (value instanceof Integer) {
+      return next.execute(value, context);
+    }
+    if (!(value instanceof CharSequence)) {
+      throw new SuperCsvCellProcessorException(String.class, value, context, this);
+    }
+    return next.execute(parseInt((CharSequence) value, context), context);
+  }
+
+  public int parseInt(CharSequence cell, CsvContext context) {
+    validateInputNotNull(cell, context);
+    try {
+      return Integer.parseInt(cell, 0, cell.length(), 10);
+    } catch (NumberFormatException e) {
+      throw new SuperCsvCellProcessorException(
+          String.format("'%s' could not be parsed as an Integer", cell), context, this, e);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package warehouse.com.csv.processor;
+
+import org.supercsv.cellprocessor.CellProcessorAdaptor;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.StringCellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Parses a cell as a {@code long}, like {@link org.supercsv.cellprocessor.ParseLong}. When the
+ * processor ends the chain, alone or behind an {@link org.supercsv.cellprocessor.Optional} or
+ * {@link org.supercsv.cellprocessor.ConvertNullTo}, imports through
+ * {@link warehouse.com.csv.plan.CsvImportPlanReader} parse the cell characters directly and call
+ * a {@code long} setter without boxing. A following processor receives the boxed value.
+ */
+public class LongCellProcessor extends CellProcessorAdaptor implements StringCellProcessor {
+
+  public LongCellProcessor() {
+  }
+
+  /**
+   * @param next processor receiving the parsed {@link Long}
+   */
+  public LongCellProcessor(CellProcessor next) {
+    super(next);
+  }
+
+  @Override
+  public <T> T execute(Object value, CsvContext context) {
+    validateInputNotNull(value, context);
+    if (value instanceof Long) {
+      return next.execute(value, context);
+    }
+    if (!(value instanceof CharSequence)) {
+      throw new SuperCsvCellProcessorException(String.class, value, context, this);
+    }
+    return next.execute(parseLong((CharSequence) value, context), context);
+  }
+
+  public long parseLong(CharSequence cell, CsvContext context) {
+    validateInputNotNull(cell, context);
+    try {
+      return Long.parseLong(cell, 0, cell.length(), 10);
+    } catch (NumberFormatException e) {
+      throw new SuperCsvCellProcessorException(
+          String.format("'%s' could not be parsed as a Long", cell), context, this, e);
+    }
+  }
+}
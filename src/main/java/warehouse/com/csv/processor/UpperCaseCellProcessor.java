@@ -1,18 +1,57 @@
 package warehouse.com.csv.processor;
 
+import java.util.Locale;
 import java.util.Objects;
 import org.supercsv.cellprocessor.CellProcessorAdaptor;
+import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.util.CsvContext;
 
 public class UpperCaseCellProcessor extends CellProcessorAdaptor implements StringCellProcessor {
 
+  public UpperCaseCellProcessor() {
+  }
+
+  public UpperCaseCellProcessor(CellProcessor next) {
+    super(next);
+  }
+
   @Override
   public <T> T execute(Object value, CsvContext context) {
     if (Objects.nonNull(value)) {
-      final String result = value.toString().toUpperCase();
+      final String text = value.toString();
+      final String result = toUpperCase(text, 0, text.length());
       return next.execute(result, context);
     }
     return next.execute(value, context);
   }
+
+  /**
+   * Same result as {@code value.substring(start, end).toUpperCase()}. ASCII text is converted
+   * with a single copy, unless the default locale maps ASCII letters differently (Turkish and
+   * Azerbaijani dotted i).
+   */
+  static String toUpperCase(String value, int start, int end) {
+    int index = start;
+    while (index < end && value.charAt(index) < 'a') {
+      index++;
+    }
+    if (index == end) {
+      return start == 0 && end == value.length() ? value : value.substring(start, end);
+    }
+    String language = Locale.getDefault().getLanguage();
+    if ("tr".equals(language) || "az".equals(language)) {
+      return value.substring(start, end).toUpperCase();
+    }
+    char[] chars = new char[end - start];
+    value.getChars(start, index, chars, 0);
+    for (; index < end; index++) {
+      char c = value.charAt(index);
+      if (c >= 0x80) {
+        return value.substring(start, end).toUpperCase();
+      }
+      chars[index - start] = c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+    }
+    return new String(chars);
+  }
 }
@@ -0,0 +1,20 @@
+package warehouse.com.csv.service;
+
+import java.util.List;
+
+/**
+ * Receives imported rows in chunks, e.g. to feed JDBC batch inserts or bulk REST calls.
+ *
+ * @param <T> type of the imported rows
+ */
+@FunctionalInterface
+public interface BatchHandler<T> {
+
+  /**
+   * Handles the next chunk of rows. While this method runs the reader keeps parsing only until
+   * its bounded queue of pending batches is full, so a slow handler slows the reader down.
+   *
+   * @param batch rows in file order, never empty
+   */
+  void handle(List<T> batch);
+}
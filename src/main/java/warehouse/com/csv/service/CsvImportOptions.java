@@ -0,0 +1,51 @@
+package warehouse.com.csv.service;
+
+import java.util.Set;
+import lombok.Builder;
+import lombok.Getter;
+import org.supercsv.prefs.CsvPreference;
+import warehouse.com.csv.parser.CsvParserEngine;
+import warehouse.com.csv.parser.CsvRowFilter;
+import warehouse.com.csv.parser.CsvStringPool;
+
+/**
+ * Settings of an indexed import. The defaults match the imports without options: the standard
+ * preference parsed by the Super CSV tokenizer, no columns besides the expected ones.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class CsvImportOptions {
+
+  @Builder.Default
+  private final CsvPreference preference = CsvPreference.STANDARD_PREFERENCE;
+
+  @Builder.Default
+  private final CsvParserEngine engine = CsvParserEngine.SUPER_CSV;
+
+  /**
+   * Whether the file may contain columns without an expected header. Their cells are ignored,
+   * the {@link CsvParserEngine#CHAR_WINDOW} engine does not even tokenize them, so listing only
+   * the needed headers projects wide files down to the columns the entity uses.
+   */
+  private final boolean allowExtraColumns;
+
+  /**
+   * Rows to import, {@code null} for all rows. Rejected rows are skipped before any cell is
+   * processed, the imported rows keep the index they have in the file. A filter header missing
+   * from the file fails the import with {@code CSV_IMPORT_INVALID_HEADERS}, the header as content
+   * and the column after the last one of the file as line, where the header would be expected.
+   */
+  private final CsvRowFilter rowFilter;
+
+  /**
+   * Headers of the columns whose values are deduplicated through a bounded
+   * {@link CsvStringPool}, meant for columns repeating a few values such as codes or units.
+   * Imported rows then share one string per value instead of holding a copy each.
+   */
+  @Builder.Default
+  private final Set<String> deduplicatedColumns = Set.of();
+
+  public static CsvImportOptions defaults() {
+    return builder().build();
+  }
+}
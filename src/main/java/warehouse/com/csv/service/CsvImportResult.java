@@ -0,0 +1,29 @@
+package warehouse.com.csv.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import warehouse.com.csv.model.CsvRowError;
+
+/**
+ * Outcome of a lenient import: the rows which were read and the rows which were rejected, both in
+ * file order.
+ */
+public record CsvImportResult<T>(List<T> rows, List<CsvRowError> errors) {
+
+  public boolean hasErrors() {
+    return !errors.isEmpty();
+  }
+
+  /**
+   * @return error codes by row number, in the shape expected by
+   *     {@link CsvService#exportErrorReport(Map, List, List)}
+   */
+  public Map<Integer, List<String>> getErrorsMap() {
+    Map<Integer, List<String>> errorsMap = new LinkedHashMap<>();
+    for (CsvRowError error : errors) {
+      errorsMap.put(error.rowNumber(), List.of(error.errorCode()));
+    }
+    return errorsMap;
+  }
+}
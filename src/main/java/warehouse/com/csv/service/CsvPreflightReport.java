@@ -0,0 +1,21 @@
+package warehouse.com.csv.service;
+
+import java.util.List;
+import warehouse.com.csv.model.CsvRowError;
+
+/**
+ * Outcome of a pre-flight check.
+ *
+ * @param likelyValid       whether rows were sampled and all of them could be read
+ * @param estimatedRowCount number of data rows, exact when the leading rows reached the end of
+ *                          the file, otherwise extrapolated from the average row size
+ * @param averageRowBytes   average size of the sampled rows in bytes, including the line break
+ * @param sampledRows       number of rows read
+ * @param errors            sampled rows which cannot be read, rows sampled at random offsets
+ *                          have no row or line number (0)
+ */
+public record CsvPreflightReport(boolean likelyValid, long estimatedRowCount,
+                                 double averageRowBytes, int sampledRows,
+                                 List<CsvRowError> errors) {
+
+}
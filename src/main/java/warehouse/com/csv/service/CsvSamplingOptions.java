@@ -0,0 +1,28 @@
+package warehouse.com.csv.service;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Sample taken by a pre-flight check: the leading rows of the file plus rows starting at random
+ * byte offsets.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class CsvSamplingOptions {
+
+  @Builder.Default
+  private final int leadingRows = 100;
+
+  @Builder.Default
+  private final int randomRows = 100;
+
+  /**
+   * Seed of the random offsets, {@code null} for different offsets on every check.
+   */
+  private final Long seed;
+
+  public static CsvSamplingOptions defaults() {
+    return builder().build();
+  }
+}
@@ -7,37 +7,87 @@ import static warehouse.com.csv.common.CsvConstants.ErrorKey.CSV_IMPORT_INVALID_
 import static warehouse.com.csv.common.CsvConstants.ErrorKey.CSV_IMPORT_INVALID_HEADERS;
 import static warehouse.com.csv.common.CsvConstants.ErrorKey.EXPORT_ERROR_REPORT_FAILED;
 
-import com.google.common.collect.Iterables;
-import java.io.CharArrayWriter;
+import com.google.common.base.Utf8;
+import com.google.common.collect.Iterators;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.regex.Pattern;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.exception.SuperCsvException;
 import org.supercsv.io.CsvBeanReader;
-import org.supercsv.io.CsvBeanWriter;
 import org.supercsv.io.CsvListWriter;
 import org.supercsv.io.CsvMapReader;
 import org.supercsv.io.ICsvBeanReader;
-import org.supercsv.io.ICsvBeanWriter;
 import org.supercsv.io.ICsvListWriter;
+import org.supercsv.io.ICsvReader;
 import org.supercsv.prefs.CsvPreference;
+import org.supercsv.util.Util;
+import warehouse.com.csv.common.CsvChunk;
+import warehouse.com.csv.common.CsvFileSplitter;
+import warehouse.com.csv.common.CsvUtils;
 import warehouse.com.csv.common.EscapeFormulaEncoder;
+import warehouse.com.csv.common.MappedFileReader;
+import warehouse.com.csv.common.TrailingEmptyRowsTrimmingReader;
 import warehouse.com.csv.model.CsvRow;
+import warehouse.com.csv.model.CsvRowError;
+import warehouse.com.csv.model.CsvTable;
+import warehouse.com.csv.parser.CsvParserEngine;
+import warehouse.com.csv.parser.CsvRowFilter;
+import warehouse.com.csv.parser.CsvRowSource;
+import warehouse.com.csv.parser.CsvStringPool;
+import warehouse.com.csv.plan.CsvExportPlan;
+import warehouse.com.csv.plan.CsvImportPlan;
+import warehouse.com.csv.plan.CsvImportPlanReader;
+import warehouse.com.csv.processor.CellProcessorCompiler;
 import warehouse.com.csv.service.exception.CsvException;
 import warehouse.com.reststarter.exception.BadRequestRestException;
 import warehouse.com.reststarter.exception.InternalErrorException;
@@ -47,8 +97,19 @@ import warehouse.com.reststarter.exception.InternalErrorException;
 public class CsvService {
 
   private static final int COLUMN_OFFSET = 1;
-  // match rows with empty cells and commas after line break
-  private static final Pattern emptyCsvRowPattern = Pattern.compile("[\\r\\n]+[,\\s]+");
+  private static final int DEFAULT_PENDING_BATCHES = 2;
+  // a thread per batch import, its reading task blocks on the input and must not tie up a pool
+  private static final Executor BATCH_READER_THREADS = task -> {
+    Thread readerThread = new Thread(task, "csv-batch-reader");
+    readerThread.setDaemon(true);
+    readerThread.start();
+  };
+  private static final int CHUNKS_PER_THREAD = 4;
+  private static final long MIN_CHUNK_BYTES = 1 << 20;
+  private static final int REPORT_CHUNK_ROWS = 2048;
+  private static final int PENDING_REPORT_CHUNKS_PER_THREAD = 2;
+  private static final int SAMPLE_WINDOW_BYTES = 1 << 16;
+  private static final int LINE_SEARCH_BUFFER_BYTES = 4096;
   private static final CsvPreference CSV_PREFERENCE = new CsvPreference.Builder(
       CsvPreference.STANDARD_PREFERENCE)
       .useEncoder(new EscapeFormulaEncoder())
@@ -81,13 +142,39 @@ public class CsvService {
       List<String> headers,
       List<String> fieldNames,
       CellProcessor... cellProcessors) {
-    try (ICsvBeanReader beanReader = new CsvBeanReader(new StringReader(csvInput),
+    return readData(new StringReader(csvInput), entityClass, headers, fieldNames, cellProcessors);
+  }
+
+  /**
+   * Streaming variant of {@link #readData(String, Class, List, List, CellProcessor...)}. The input
+   * is tokenized incrementally, so only the imported beans are kept in memory. The reader is closed
+   * once the import completes.
+   *
+   * @param csvInput       reader over the CSV content
+   * @param entityClass    the bean type
+   * @param headers        expected headers of the CSV file
+   * @param fieldNames     bean fields the CSV columns are mapped to
+   * @param cellProcessors Array of CellProcessors used to further process data before it is
+   *                       populated on the bean A <tt>null</tt> indicates no further processing is
+   *                       required
+   */
+  public List readData(
+      Reader csvInput,
+      Class entityClass,
+      List<String> headers,
+      List<String> fieldNames,
+      CellProcessor... cellProcessors) {
+    try (ICsvBeanReader beanReader = new CsvBeanReader(csvInput,
         CsvPreference.STANDARD_PREFERENCE)) {
       // the header elements are used to map the values to the bean (names must match)
-      validateHeaders(beanReader, headers);
+      int[] columns = resolveColumns(readHeaders(beanReader), headers, false);
+      List<String> columnFields = columnFields(columns, headers.size(), fieldNames);
       Object entity;
       List importedRows = new ArrayList<>();
-      while ((entity = getEntity(beanReader, entityClass, fieldNames, cellProcessors)) != null) {
+      CellProcessor[] compiledProcessors = CellProcessorCompiler.compile(
+          columnProcessors(columns, headers.size(), cellProcessors));
+      while ((entity = getEntity(beanReader, entityClass, columnFields, compiledProcessors))
+          != null) {
         importedRows.add(entity);
       }
 
@@ -127,9 +214,209 @@ public class CsvService {
       String csvInput, Class<T> entityClass,
       List<String> headers, List<String> fieldNames, CellProcessor... cellProcessors)
       throws CsvException {
-    csvInput = trimCsv(csvInput);
-    return readIndexedDataWithSpecialPreference(csvInput, entityClass, headers, fieldNames,
-        CsvPreference.STANDARD_PREFERENCE, cellProcessors);
+    return readIndexedDataWithSpecialPreference(
+        CsvUtils.trimmedReader(StringUtils.defaultString(csvInput)), entityClass, headers,
+        fieldNames, CsvPreference.STANDARD_PREFERENCE, cellProcessors);
+  }
+
+  /**
+   * Variant of {@link #readIndexedData(String, Class, List, List, CellProcessor...)} with
+   * explicit import options, e.g. to select the parser engine.
+   */
+  public <T extends CsvRow> List<T> readIndexedData(
+      String csvInput, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CsvImportOptions options,
+      CellProcessor... cellProcessors)
+      throws CsvException {
+    List<T> importedRows = new ArrayList<>();
+    readIndexedRows(CsvUtils.trimmedReader(StringUtils.defaultString(csvInput)), entityClass,
+        headers, fieldNames, options, importedRows::add, cellProcessors);
+    return importedRows;
+  }
+
+  /**
+   * Streaming variant of {@link #readIndexedData(String, Class, List, List, CellProcessor...)}.
+   * The input is tokenized incrementally and trailing empty rows are trimmed on the fly, so heap
+   * usage does not depend on the size of the file. The reader is closed once the import
+   * completes.
+   */
+  public <T extends CsvRow> List<T> readIndexedData(
+      Reader csvInput, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CellProcessor... cellProcessors)
+      throws CsvException {
+    return readIndexedDataWithSpecialPreference(new TrailingEmptyRowsTrimmingReader(csvInput),
+        entityClass, headers, fieldNames, CsvPreference.STANDARD_PREFERENCE, cellProcessors);
+  }
+
+  /**
+   * Streaming variant of {@link #readIndexedData(String, Class, List, List, CellProcessor...)}
+   * reading UTF-8 content from the stream. The stream is closed once the import completes.
+   */
+  public <T extends CsvRow> List<T> readIndexedData(
+      InputStream csvInput, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CellProcessor... cellProcessors)
+      throws CsvException {
+    return readIndexedData(CsvUtils.toReader(csvInput), entityClass, headers, fieldNames,
+        cellProcessors);
+  }
+
+  /**
+   * Streaming variant of {@link #readIndexedData(String, Class, List, List, CellProcessor...)}
+   * for uploaded files. The file is validated the same way as by
+   * {@link CsvUtils#extractContent(MultipartFile)}, but its content is never loaded into a single
+   * String.
+   */
+  public <T extends CsvRow> List<T> readIndexedData(
+      MultipartFile csvFile, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CellProcessor... cellProcessors)
+      throws CsvException {
+    return readIndexedData(CsvUtils.openReader(csvFile), entityClass, headers, fieldNames,
+        cellProcessors);
+  }
+
+  /**
+   * Parallel variant of {@link #readIndexedData(String, Class, List, List, CellProcessor...)} for
+   * UTF-8 files on disk, using the common fork-join pool.
+   *
+   * @see #readIndexedDataInParallel(Path, Class, List, List, CsvPreference, ForkJoinPool,
+   * CellProcessor...)
+   */
+  public <T extends CsvRow> List<T> readIndexedDataInParallel(
+      Path csvFile, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CellProcessor... cellProcessors)
+      throws CsvException {
+    return readIndexedDataInParallel(csvFile, entityClass, headers, fieldNames,
+        CsvPreference.STANDARD_PREFERENCE, ForkJoinPool.commonPool(), cellProcessors);
+  }
+
+  /**
+   * Parallel import with the given preference and default options.
+   *
+   * @see #readIndexedDataInParallel(Path, Class, List, List, CsvImportOptions, ForkJoinPool,
+   * CellProcessor...)
+   */
+  public <T extends CsvRow> List<T> readIndexedDataInParallel(
+      Path csvFile, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CsvPreference preference,
+      ForkJoinPool pool, CellProcessor... cellProcessors)
+      throws CsvException {
+    return readIndexedDataInParallel(csvFile, entityClass, headers, fieldNames,
+        CsvImportOptions.builder().preference(preference).build(), pool, cellProcessors);
+  }
+
+  /**
+   * Splits the file into record-aligned byte ranges (line breaks inside quoted cells are
+   * respected), parses the ranges concurrently on the given pool and returns the rows in file
+   * order with the same {@link CsvRow#getIndex()} values a sequential import would assign. The
+   * options apply as for {@link #readIndexedData(String, Class, List, List, CsvImportOptions,
+   * CellProcessor...)}, each range is parsed with their engine, row filter and string pools of
+   * its own. The cell processors and the row filter are shared between the parsing tasks and
+   * therefore have to be stateless.
+   *
+   * @param pool pool the ranges are parsed on, its parallelism determines the number of ranges
+   */
+  public <T extends CsvRow> List<T> readIndexedDataInParallel(
+      Path csvFile, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CsvImportOptions options,
+      ForkJoinPool pool, CellProcessor... cellProcessors)
+      throws CsvException {
+    CsvFileSplitter.Chunks fileChunks;
+    try (FileChannel channel = FileChannel.open(csvFile, StandardOpenOption.READ)) {
+      fileChunks = CsvFileSplitter.split(channel, options.getPreference().getQuoteChar(),
+          pool.getParallelism() * CHUNKS_PER_THREAD, MIN_CHUNK_BYTES);
+    } catch (IOException e) {
+      throw new CsvException(CSV_IMPORT_ERROR, e);
+    }
+
+    IndexedColumns<T> indexedColumns;
+    try (CsvImportPlanReader headerReader = new CsvImportPlanReader(options.getEngine().open(
+        openChunk(csvFile, fileChunks.header()), options.getPreference()))) {
+      indexedColumns = readIndexedHeaders(headerReader, entityClass, headers, fieldNames,
+          options, cellProcessors);
+    } catch (IOException e) {
+      throw new CsvException(CSV_IMPORT_ERROR, e);
+    }
+
+    AtomicBoolean failed = new AtomicBoolean();
+    List<CompletableFuture<ChunkRows<T>>> parsedChunks = fileChunks.chunks().stream()
+        .map(chunk -> CompletableFuture.supplyAsync(() -> readChunk(csvFile, chunk,
+            indexedColumns, options, failed), pool))
+        .toList();
+
+    List<T> importedRows = new ArrayList<>();
+    // chunk rows are numbered from 1, the header occupies the first row of the file
+    int rowOffset = 1;
+    for (CompletableFuture<ChunkRows<T>> parsedChunk : parsedChunks) {
+      ChunkRows<T> chunkRows = joinChunk(parsedChunk);
+      int chunkOffset = rowOffset;
+      chunkRows.rows().forEach(row -> row.setIndex(row.getIndex() + chunkOffset));
+      importedRows.addAll(chunkRows.rows());
+      rowOffset += chunkRows.rowCount();
+    }
+
+    if (importedRows.isEmpty()) {
+      throw new CsvException("No data was imported");
+    }
+
+    return importedRows;
+  }
+
+  private <T extends CsvRow> ChunkRows<T> readChunk(
+      Path csvFile, CsvChunk chunk, IndexedColumns<T> indexedColumns, CsvImportOptions options,
+      AtomicBoolean failed) {
+    List<T> rows = new ArrayList<>();
+    try (CsvImportPlanReader csvReader = new CsvImportPlanReader(options.getEngine().open(
+        openChunk(csvFile, chunk), options.getPreference()))) {
+      applyRowOptions(csvReader, indexedColumns.headersInFile(), options);
+      T entity;
+      while (!failed.get() && (entity = readIndexedEntity(csvReader,
+          indexedColumns.importPlan(), indexedColumns.cellProcessors())) != null) {
+        rows.add(entity);
+      }
+      return new ChunkRows<>(rows, csvReader.getRowNumber());
+    } catch (CsvException e) {
+      failed.set(true);
+      int line = e.getLine() > 0 ? chunk.firstLine() + e.getLine() - 1 : e.getLine();
+      throw new CompletionException(
+          new CsvException(e.getMessage(), line, e.getContent(), e.getCause()));
+    } catch (IOException e) {
+      failed.set(true);
+      throw new CompletionException(new CsvException(CSV_IMPORT_ERROR, e));
+    }
+  }
+
+  private <T> ChunkRows<T> joinChunk(CompletableFuture<ChunkRows<T>> parsedChunk)
+      throws CsvException {
+    try {
+      return parsedChunk.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof CsvException csvException) {
+        throw csvException;
+      }
+      throw new CsvException(CSV_IMPORT_ERROR, e.getCause());
+    }
+  }
+
+  private Reader openChunk(Path csvFile, CsvChunk chunk) throws IOException {
+    return MappedFileReader.open(csvFile, chunk.start(), chunk.end());
+  }
+
+  /**
+   * Variant of {@link #readIndexedData(String, Class, List, List, CellProcessor...)} for UTF-8
+   * files on disk. The file is memory-mapped and decoded incrementally, so its content is never
+   * copied into a single String.
+   */
+  public <T extends CsvRow> List<T> readIndexedData(
+      Path csvFile, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CellProcessor... cellProcessors)
+      throws CsvException {
+    Reader csvInput;
+    try {
+      csvInput = MappedFileReader.open(csvFile);
+    } catch (IOException e) {
+      throw new CsvException(CSV_IMPORT_ERROR, e);
+    }
+    return readIndexedData(csvInput, entityClass, headers, fieldNames, cellProcessors);
   }
 
   public <T extends CsvRow> List<T> readIndexedDataWithSpecialPreference(
@@ -137,39 +424,602 @@ public class CsvService {
       List<String> headers, List<String> fieldNames, CsvPreference preference,
       CellProcessor... cellProcessors)
       throws CsvException {
-    ICsvBeanReader beanReader = new CsvBeanReader(new StringReader(csvInput), preference);
-    try {
-      // the header elements are used to map the values to the bean (names must match)
-      validateHeaders(beanReader, headers);
+    return readIndexedDataWithSpecialPreference(new StringReader(csvInput), entityClass, headers,
+        fieldNames, preference, cellProcessors);
+  }
+
+  public <T extends CsvRow> List<T> readIndexedDataWithSpecialPreference(
+      Reader csvInput, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CsvPreference preference,
+      CellProcessor... cellProcessors)
+      throws CsvException {
+    List<T> importedRows = new ArrayList<>();
+    readIndexedWithSpecialPreference(csvInput, entityClass, headers, fieldNames, preference,
+        importedRows::add, cellProcessors);
+    return importedRows;
+  }
+
+  /**
+   * Reads the CSV rows one by one and hands every indexed bean to the consumer as soon as it is
+   * populated, so no list of imported rows is ever built. Trailing empty rows are trimmed the same
+   * way as by {@link #readIndexedData(String, Class, List, List, CellProcessor...)}. Exceptions
+   * thrown by the consumer are propagated as is. The reader is closed once the import completes.
+   *
+   * @param rowConsumer receives the imported beans in file order
+   * @return number of imported rows
+   */
+  public <T extends CsvRow> int readIndexed(
+      Reader csvInput, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, Consumer<? super T> rowConsumer,
+      CellProcessor... cellProcessors)
+      throws CsvException {
+    return readIndexedWithSpecialPreference(new TrailingEmptyRowsTrimmingReader(csvInput),
+        entityClass, headers, fieldNames, CsvPreference.STANDARD_PREFERENCE, rowConsumer,
+        cellProcessors);
+  }
+
+  /**
+   * Variant of {@link #readIndexed(Reader, Class, List, List, Consumer, CellProcessor...)} with
+   * explicit import options, e.g. to select the parser engine.
+   */
+  public <T extends CsvRow> int readIndexed(
+      Reader csvInput, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CsvImportOptions options,
+      Consumer<? super T> rowConsumer, CellProcessor... cellProcessors)
+      throws CsvException {
+    return readIndexedRows(new TrailingEmptyRowsTrimmingReader(csvInput), entityClass, headers,
+        fieldNames, options, rowConsumer, cellProcessors);
+  }
+
+  public <T extends CsvRow> int readIndexedWithSpecialPreference(
+      Reader csvInput, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CsvPreference preference,
+      Consumer<? super T> rowConsumer, CellProcessor... cellProcessors)
+      throws CsvException {
+    return readIndexedRows(csvInput, entityClass, headers, fieldNames,
+        CsvImportOptions.builder().preference(preference).build(), rowConsumer, cellProcessors);
+  }
+
+  private <T extends CsvRow> int readIndexedRows(
+      Reader csvInput, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CsvImportOptions options,
+      Consumer<? super T> rowConsumer, CellProcessor... cellProcessors)
+      throws CsvException {
+    try (CsvImportPlanReader csvReader = new CsvImportPlanReader(
+        options.getEngine().open(csvInput, options.getPreference()))) {
+      IndexedColumns<T> indexedColumns = readIndexedHeaders(csvReader, entityClass, headers,
+          fieldNames, options, cellProcessors);
+      int importedRows = 0;
       T entity;
-      List<T> importedRows = new ArrayList<>();
-      while ((entity = getEntity(beanReader, entityClass, fieldNames, cellProcessors)) != null) {
-        entity.setIndex(beanReader.getRowNumber());
-        importedRows.add(entity);
+      while ((entity = readIndexedEntity(csvReader, indexedColumns.importPlan(),
+          indexedColumns.cellProcessors())) != null) {
+        rowConsumer.accept(entity);
+        importedRows++;
       }
 
-      if (importedRows.isEmpty()) {
+      if (importedRows == 0) {
         throw new CsvException("No data was imported");
       }
 
       return importedRows;
+    } catch (IOException e) {
+      throw new CsvException(CSV_IMPORT_ERROR, e);
+    }
+  }
+
+  /**
+   * Lenient variant of {@link #readIndexedData(String, Class, List, List, CellProcessor...)}.
+   * Rows which cannot be read are collected as {@link CsvRowError}s instead of failing the
+   * import, so a single pass reports every invalid row. Invalid headers and I/O errors still fail
+   * the import.
+   */
+  public <T extends CsvRow> CsvImportResult<T> readIndexedDataLeniently(
+      String csvInput, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CsvImportOptions options,
+      CellProcessor... cellProcessors)
+      throws CsvException {
+    return readIndexedRowsLeniently(CsvUtils.trimmedReader(StringUtils.defaultString(csvInput)),
+        entityClass, headers, fieldNames, options, cellProcessors);
+  }
+
+  /**
+   * Streaming variant of
+   * {@link #readIndexedDataLeniently(String, Class, List, List, CsvImportOptions,
+   * CellProcessor...)}. The reader is closed once the import completes.
+   */
+  public <T extends CsvRow> CsvImportResult<T> readIndexedDataLeniently(
+      Reader csvInput, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CsvImportOptions options,
+      CellProcessor... cellProcessors)
+      throws CsvException {
+    return readIndexedRowsLeniently(new TrailingEmptyRowsTrimmingReader(csvInput), entityClass,
+        headers, fieldNames, options, cellProcessors);
+  }
+
+  private <T extends CsvRow> CsvImportResult<T> readIndexedRowsLeniently(
+      Reader csvInput, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CsvImportOptions options,
+      CellProcessor... cellProcessors)
+      throws CsvException {
+    List<T> importedRows = new ArrayList<>();
+    List<CsvRowError> rowErrors = new ArrayList<>();
+    try (CsvImportPlanReader csvReader = new CsvImportPlanReader(
+        options.getEngine().open(csvInput, options.getPreference()))) {
+      IndexedColumns<T> indexedColumns = readIndexedHeaders(csvReader, entityClass, headers,
+          fieldNames, options, cellProcessors);
+      while (true) {
+        int previousRow = csvReader.getRowNumber();
+        try {
+          T entity = csvReader.read(indexedColumns.importPlan(),
+              indexedColumns.cellProcessors());
+          if (entity == null) {
+            break;
+          }
+          entity.setIndex(csvReader.getRowNumber());
+          importedRows.add(entity);
+        } catch (RuntimeException e) {
+          rowErrors.add(rowError(csvReader, csvReader.getRowNumber() > previousRow, e));
+        }
+      }
+    } catch (IOException e) {
+      throw new CsvException(CSV_IMPORT_ERROR, e);
+    }
+
+    if (importedRows.isEmpty() && rowErrors.isEmpty()) {
+      throw new CsvException("No data was imported");
+    }
+    return new CsvImportResult<>(importedRows, rowErrors);
+  }
+
+  // the row number only advances once a row is tokenized, its cells are not valid otherwise
+  private CsvRowError rowError(ICsvReader csvReader, boolean tokenized, RuntimeException e) {
+    String content = csvReader.getUntokenizedRow();
+    List<String> cells;
+    if (tokenized) {
+      cells = new ArrayList<>(csvReader.length());
+      for (int i = 1; i <= csvReader.length(); i++) {
+        cells.add(csvReader.get(i));
+      }
+    } else {
+      cells = Collections.singletonList(content);
+    }
+    int column = e instanceof SuperCsvException superCsvException
+        && superCsvException.getCsvContext() != null
+        ? superCsvException.getCsvContext().getColumnNumber() : 0;
+    return new CsvRowError(tokenized ? csvReader.getRowNumber() : csvReader.getRowNumber() + 1,
+        csvReader.getLineNumber(), column, content, cells, CSV_IMPORT_INVALID_CONTENT,
+        e.getMessage());
+  }
+
+  /**
+   * Pre-flight check of a UTF-8 file on disk, meant to reject broken uploads before a full import
+   * ties up a worker. The headers are validated the same way as by the imports, then the leading
+   * rows and rows at random byte offsets are read with the given processors. A random offset is
+   * moved to the start of the next line, so a sample falling into a cell with line breaks may be
+   * reported as invalid. The row filter of the options is not applied, every sampled row is
+   * validated.
+   *
+   * @throws CsvException if the headers are invalid or the file cannot be read
+   */
+  public <T extends CsvRow> CsvPreflightReport preflightIndexedData(
+      Path csvFile, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CsvImportOptions options,
+      CsvSamplingOptions sampling, CellProcessor... cellProcessors)
+      throws CsvException {
+    IndexedColumns<T> indexedColumns;
+    List<CsvRowError> rowErrors = new ArrayList<>();
+    long headerBytes;
+    long sampledBytes = 0;
+    int sampledRows = 0;
+    boolean endOfFile = false;
+    try (CsvImportPlanReader csvReader = new CsvImportPlanReader(options.getEngine().open(
+        new TrailingEmptyRowsTrimmingReader(MappedFileReader.open(csvFile)),
+        options.getPreference()))) {
+      indexedColumns = readIndexedHeaders(csvReader, entityClass, headers, fieldNames,
+          options.toBuilder().rowFilter(null).build(), cellProcessors);
+      headerBytes = encodedRowLength(csvReader.getUntokenizedRow());
+      while (!endOfFile && sampledRows < sampling.getLeadingRows()) {
+        int previousRow = csvReader.getRowNumber();
+        try {
+          endOfFile = csvReader.read(indexedColumns.importPlan(),
+              indexedColumns.cellProcessors()) == null;
+        } catch (RuntimeException e) {
+          rowErrors.add(rowError(csvReader, csvReader.getRowNumber() > previousRow, e));
+        }
+        if (!endOfFile) {
+          sampledRows++;
+          sampledBytes += encodedRowLength(csvReader.getUntokenizedRow());
+        }
+      }
+    } catch (IOException e) {
+      throw new CsvException(CSV_IMPORT_ERROR, e);
+    }
+
+    int leadingRows = sampledRows;
+    long dataBytes = 0;
+    if (!endOfFile) {
+      try (FileChannel channel = FileChannel.open(csvFile, StandardOpenOption.READ)) {
+        // offsets stay before the trailing empty rows block the imports trim away
+        long dataEnd = CsvFileSplitter.dataEnd(channel);
+        dataBytes = Math.max(0, dataEnd - headerBytes);
+        if (sampling.getRandomRows() > 0 && headerBytes < dataEnd) {
+          Random random = sampling.getSeed() == null
+              ? new Random() : new Random(sampling.getSeed());
+          long[] offsets = random.longs(sampling.getRandomRows(), headerBytes, dataEnd)
+              .sorted()
+              .toArray();
+          for (long offset : offsets) {
+            String row = sampleRow(csvFile, channel, offset, dataEnd, options, indexedColumns,
+                rowErrors);
+            if (row != null) {
+              sampledRows++;
+              sampledBytes += encodedRowLength(row);
+            }
+          }
+        }
+      } catch (IOException e) {
+        throw new CsvException(CSV_IMPORT_ERROR, e);
+      }
+    }
+
+    double averageRowBytes = sampledRows == 0 ? 0 : (double) sampledBytes / sampledRows;
+    long estimatedRowCount = endOfFile || averageRowBytes == 0
+        ? leadingRows
+        : Math.round(dataBytes / averageRowBytes);
+    return new CsvPreflightReport(sampledRows > 0 && rowErrors.isEmpty(), estimatedRowCount,
+        averageRowBytes, sampledRows, rowErrors);
+  }
+
+  // reads the row starting after the first line break at the offset, returns its untokenized
+  // content or null if no complete row was found within the sample window
+  private <T extends CsvRow> String sampleRow(
+      Path csvFile, FileChannel channel, long offset, long dataEnd, CsvImportOptions options,
+      IndexedColumns<T> indexedColumns, List<CsvRowError> rowErrors)
+      throws IOException {
+    long rowStart = nextLineStart(channel, offset, dataEnd);
+    if (rowStart < 0) {
+      return null;
+    }
+    long windowEnd = Math.min(dataEnd, rowStart + SAMPLE_WINDOW_BYTES);
+    try (CsvImportPlanReader csvReader = new CsvImportPlanReader(options.getEngine().open(
+        MappedFileReader.open(csvFile, rowStart, windowEnd), options.getPreference()))) {
+      try {
+        if (csvReader.read(indexedColumns.importPlan(), indexedColumns.cellProcessors())
+            == null) {
+          return null;
+        }
+      } catch (RuntimeException e) {
+        boolean tokenized = csvReader.getRowNumber() > 0;
+        if (!tokenized && windowEnd < dataEnd) {
+          // the row may continue beyond the window
+          return null;
+        }
+        CsvRowError rowError = rowError(csvReader, tokenized, e);
+        rowErrors.add(new CsvRowError(0, 0, rowError.column(), rowError.content(),
+            rowError.cells(), rowError.errorCode(), rowError.detail()));
+      }
+      return csvReader.getUntokenizedRow();
+    }
+  }
+
+  private long nextLineStart(FileChannel channel, long offset, long dataEnd)
+      throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(LINE_SEARCH_BUFFER_BYTES);
+    long position = offset;
+    while (position < dataEnd && position - offset < SAMPLE_WINDOW_BYTES) {
+      buffer.clear();
+      int read = channel.read(buffer, position);
+      if (read <= 0) {
+        break;
+      }
+      for (int i = 0; i < read; i++) {
+        if (buffer.get(i) == '\n') {
+          long lineStart = position + i + 1;
+          return lineStart < dataEnd ? lineStart : -1;
+        }
+      }
+      position += read;
+    }
+    return -1;
+  }
+
+  private static long encodedRowLength(String untokenizedRow) {
+    return untokenizedRow == null ? 0 : Utf8.encodedLength(untokenizedRow) + 1;
+  }
+
+  /**
+   * Reads the CSV rows and hands them to the batch handler in chunks of {@code batchSize}. Rows
+   * are parsed on a dedicated reader thread started for the import while the handler runs on the
+   * calling thread, so thread-bound resources such as transactions keep working. Trailing empty
+   * rows are trimmed the same way as by
+   * {@link #readIndexedData(String, Class, List, List, CellProcessor...)}. The reader is closed
+   * once the import completes.
+   *
+   * @param batchSize    maximum number of rows passed to a single handler call
+   * @param batchHandler receives the imported rows in file order
+   * @return number of imported rows
+   */
+  public <T extends CsvRow> int readIndexedInBatches(
+      Reader csvInput, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, int batchSize,
+      BatchHandler<T> batchHandler, CellProcessor... cellProcessors)
+      throws CsvException {
+    return readIndexedInBatchesWithSpecialPreference(new TrailingEmptyRowsTrimmingReader(csvInput),
+        entityClass, headers, fieldNames, CsvPreference.STANDARD_PREFERENCE, batchSize,
+        DEFAULT_PENDING_BATCHES, batchHandler, cellProcessors);
+  }
+
+  /**
+   * Batched import with explicit back-pressure settings, reading on a dedicated thread started
+   * for the import.
+   *
+   * @see #readIndexedInBatchesWithSpecialPreference(Reader, Class, List, List, CsvPreference,
+   *     int, int, BatchHandler, Executor, CellProcessor...)
+   */
+  public <T extends CsvRow> int readIndexedInBatchesWithSpecialPreference(
+      Reader csvInput, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CsvPreference preference,
+      int batchSize, int maxPendingBatches, BatchHandler<T> batchHandler,
+      CellProcessor... cellProcessors)
+      throws CsvException {
+    return readIndexedInBatchesWithSpecialPreference(csvInput, entityClass, headers, fieldNames,
+        preference, batchSize, maxPendingBatches, batchHandler, BATCH_READER_THREADS,
+        cellProcessors);
+  }
+
+  /**
+   * Batched import with explicit back-pressure settings. The rows are read by a task on the
+   * executor, which blocks on the input and as soon as {@code maxPendingBatches} chunks are
+   * waiting for the handler, so at most {@code (maxPendingBatches + 2) * batchSize} rows are held
+   * in memory at any time. Waiting for the handler is a managed block, so a {@link ForkJoinPool}
+   * may start a compensating thread meanwhile, reading the input is not. The executor has to run
+   * the task while the calling thread waits for its batches, a pool the caller itself runs on
+   * needs a spare thread. If the handler throws, the reading task is interrupted, the reader is
+   * closed and the exception is propagated as is.
+   *
+   * @param batchSize         maximum number of rows passed to a single handler call
+   * @param maxPendingBatches number of parsed chunks allowed to wait for the handler
+   * @param batchHandler      receives the imported rows in file order
+   * @param executor          runs the reading task
+   * @return number of imported rows
+   */
+  public <T extends CsvRow> int readIndexedInBatchesWithSpecialPreference(
+      Reader csvInput, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CsvPreference preference,
+      int batchSize, int maxPendingBatches, BatchHandler<T> batchHandler, Executor executor,
+      CellProcessor... cellProcessors)
+      throws CsvException {
+    Validate.isTrue(batchSize > 0, "Batch size must be positive");
+    Validate.isTrue(maxPendingBatches > 0, "Number of pending batches must be positive");
+    BlockingQueue<List<T>> batches = new ArrayBlockingQueue<>(maxPendingBatches);
+    AtomicReference<Throwable> readFailure = new AtomicReference<>();
+    AtomicInteger importedRows = new AtomicInteger();
+    BatchReaderThread readerThread = new BatchReaderThread();
+    CompletableFuture<Void> reading = CompletableFuture.runAsync(() -> {
+      if (!readerThread.enter()) {
+        return;
+      }
+      BatchCollector<T> collector = new BatchCollector<>(batches, batchSize, readerThread);
+      try {
+        importedRows.set(readIndexedWithSpecialPreference(csvInput, entityClass, headers,
+            fieldNames, preference, collector, cellProcessors));
+        collector.flush();
+      } catch (Throwable e) {
+        readFailure.set(e);
+      } finally {
+        collector.finish();
+        readerThread.exit();
+      }
+    }, executor);
+
+    try {
+      List<T> batch;
+      while ((batch = batches.take()) != BatchCollector.END_OF_BATCHES) {
+        batchHandler.handle(batch);
+      }
+      reading.join();
+    } catch (InterruptedException e) {
+      stopReading(readerThread, csvInput);
+      Thread.currentThread().interrupt();
+      throw new CsvException(CSV_IMPORT_ERROR, e);
+    } catch (RuntimeException | Error e) {
+      stopReading(readerThread, csvInput);
+      throw e;
+    }
+
+    Throwable failure = readFailure.get();
+    if (failure instanceof CsvException csvException) {
+      throw csvException;
+    } else if (failure instanceof RuntimeException runtimeException) {
+      throw runtimeException;
+    } else if (failure != null) {
+      throw new CsvException(CSV_IMPORT_ERROR, failure);
+    }
+    return importedRows.get();
+  }
+
+  // the handler side gave up, closing the reader also ends a read blocked on the input
+  private void stopReading(BatchReaderThread readerThread, Reader csvInput) {
+    readerThread.stop();
+    try {
+      csvInput.close();
+    } catch (IOException e) {
+      log.debug("Closing the reader of a stopped batch import failed", e);
+    }
+  }
+
+  /**
+   * Lazily evaluated variant of
+   * {@link #readIndexed(Reader, Class, List, List, Consumer, CellProcessor...)}. Headers are
+   * validated eagerly, rows are read only as the stream is consumed. A row which cannot be read
+   * fails the stream with a {@link BadRequestRestException} caused by the {@link CsvException}
+   * holding the line and its content. The stream must be closed to release the reader.
+   */
+  public <T extends CsvRow> Stream<T> streamIndexed(
+      Reader csvInput, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CellProcessor... cellProcessors)
+      throws CsvException {
+    return streamIndexedWithSpecialPreference(new TrailingEmptyRowsTrimmingReader(csvInput),
+        entityClass, headers, fieldNames, CsvPreference.STANDARD_PREFERENCE, cellProcessors);
+  }
+
+  public <T extends CsvRow> Stream<T> streamIndexedWithSpecialPreference(
+      Reader csvInput, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CsvPreference preference,
+      CellProcessor... cellProcessors)
+      throws CsvException {
+    CsvImportPlanReader csvReader = new CsvImportPlanReader(csvInput, preference);
+    IndexedColumns<T> indexedColumns;
+    try {
+      indexedColumns = readIndexedHeaders(csvReader, entityClass, headers, fieldNames,
+          CsvImportOptions.builder().preference(preference).build(), cellProcessors);
+    } catch (CsvException e) {
+      closeReader(csvReader);
+      throw e;
+    }
+
+    Iterator<T> rows = new IndexedRowIterator<>(csvReader, indexedColumns.importPlan(),
+        indexedColumns.cellProcessors());
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(() -> closeReader(csvReader));
+  }
+
+  /**
+   * Validates the headers of the file and binds its columns to the entity fields by header name,
+   * so the plan and processors returned map the cells of each row by position. The row filter and
+   * string pools of the options are installed on the reader.
+   */
+  private <T> IndexedColumns<T> readIndexedHeaders(
+      CsvImportPlanReader csvReader, Class<T> entityClass,
+      List<String> headers, List<String> fieldNames, CsvImportOptions options,
+      CellProcessor[] cellProcessors)
+      throws CsvException {
+    String[] headersInFile;
+    int[] columns;
+    try {
+      headersInFile = readHeaders(csvReader);
+      // the header elements are used to map the values to the bean (names must match)
+      columns = resolveColumns(headersInFile, headers, options.isAllowExtraColumns());
+      applyRowOptions(csvReader, headersInFile, options);
+    } catch (RuntimeException e) {
+      throw new CsvException(CSV_IMPORT_INVALID_CONTENT, csvReader.getLineNumber(),
+          csvReader.getUntokenizedRow(), e);
+    } catch (IOException e) {
+      throw new CsvException(CSV_IMPORT_ERROR, e);
+    }
+    return new IndexedColumns<>(headersInFile,
+        CsvImportPlan.of(entityClass, columnFields(columns, headers.size(), fieldNames)),
+        columnProcessors(columns, headers.size(), cellProcessors));
+  }
+
+  // row filter and string pools of the options, for a reader positioned after the header
+  private void applyRowOptions(CsvImportPlanReader csvReader, String[] headersInFile,
+      CsvImportOptions options) throws CsvException {
+    CsvRowFilter rowFilter = options.getRowFilter();
+    if (rowFilter != null) {
+      csvReader.setRowFilter(rowFilter, resolveFilterColumns(headersInFile, rowFilter));
+    }
+    if (!options.getDeduplicatedColumns().isEmpty()) {
+      csvReader.setStringPools(stringPools(headersInFile, options.getDeduplicatedColumns()));
+    }
+  }
+
+  private <T extends CsvRow> T readIndexedEntity(
+      CsvImportPlanReader csvReader, CsvImportPlan<T> importPlan,
+      CellProcessor[] cellProcessors)
+      throws CsvException {
+    try {
+      T entity = csvReader.read(importPlan, cellProcessors);
+      if (entity != null) {
+        entity.setIndex(csvReader.getRowNumber());
+      }
+      return entity;
     } catch (RuntimeException e) {
-      throw new CsvException(CSV_IMPORT_INVALID_CONTENT, beanReader.getLineNumber(),
-          beanReader.getUntokenizedRow(), e);
+      throw new CsvException(CSV_IMPORT_INVALID_CONTENT, csvReader.getLineNumber(),
+          csvReader.getUntokenizedRow(), e);
     } catch (IOException e) {
       throw new CsvException(CSV_IMPORT_ERROR, e);
     }
   }
 
-  private void validateHeaders(ICsvBeanReader beanReader, List<String> headers)
-      throws IOException, CsvException {
-    String[] headersInFile = beanReader.getHeader(Boolean.TRUE);
+  private void closeReader(ICsvReader csvReader) {
+    try {
+      csvReader.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private String[] readHeaders(ICsvReader csvReader) throws IOException {
+    String[] headersInFile = csvReader.getHeader(Boolean.TRUE);
     removeUtfByteOrderMark(headersInFile);
-    if (!CollectionUtils.isEqualCollection(List.of(headersInFile), headers)) {
-      int column = getColumn(List.of(headersInFile), headers);
-      throw new CsvException(CSV_IMPORT_INVALID_HEADERS, column + COLUMN_OFFSET,
-          headers.get(column));
+    return headersInFile;
+  }
+
+  // index of the expected header found in each column of the file, -1 for an extra column
+  private int[] resolveColumns(String[] headersInFile, List<String> headers,
+      boolean allowExtraColumns)
+      throws CsvException {
+    Map<String, Integer> headerIndexes = new HashMap<>();
+    for (int i = headers.size() - 1; i >= 0; i--) {
+      headerIndexes.put(headers.get(i), i);
+    }
+    boolean[] bound = new boolean[headers.size()];
+    int[] columns = new int[headersInFile.length];
+    for (int i = 0; i < headersInFile.length; i++) {
+      Integer index = headerIndexes.get(headersInFile[i]);
+      columns[i] = index == null ? -1 : nextUnboundHeader(headers, bound, index);
+      if (columns[i] >= 0) {
+        bound[columns[i]] = true;
+      }
+    }
+
+    int missingHeader = ArrayUtils.indexOf(bound, false);
+    if (missingHeader >= 0) {
+      throw new CsvException(CSV_IMPORT_INVALID_HEADERS, missingHeader + COLUMN_OFFSET,
+          headers.get(missingHeader));
+    }
+    int extraColumn = ArrayUtils.indexOf(columns, -1);
+    if (extraColumn >= 0 && !allowExtraColumns) {
+      throw new CsvException(CSV_IMPORT_INVALID_HEADERS, extraColumn + COLUMN_OFFSET,
+          headersInFile[extraColumn]);
+    }
+    return columns;
+  }
+
+  private int[] resolveFilterColumns(String[] headersInFile, CsvRowFilter rowFilter)
+      throws CsvException {
+    int[] filterColumns = rowFilter.columnsIn(headersInFile);
+    int missingHeader = ArrayUtils.indexOf(filterColumns, -1);
+    if (missingHeader >= 0) {
+      // not in the file, reported at the column after its last one
+      throw new CsvException(CSV_IMPORT_INVALID_HEADERS, headersInFile.length + COLUMN_OFFSET,
+          rowFilter.getHeaders().get(missingHeader));
+    }
+    return filterColumns;
+  }
+
+  private CsvStringPool[] stringPools(String[] headersInFile, Set<String> deduplicatedColumns) {
+    CsvStringPool[] stringPools = new CsvStringPool[headersInFile.length];
+    for (int i = 0; i < headersInFile.length; i++) {
+      if (headersInFile[i] != null && deduplicatedColumns.contains(headersInFile[i])) {
+        stringPools[i] = new CsvStringPool();
+      }
+    }
+    return stringPools;
+  }
+
+  // a header expected more than once is bound to the file columns in order
+  private int nextUnboundHeader(List<String> headers, boolean[] bound, int index) {
+    String header = headers.get(index);
+    for (int i = index; i < headers.size(); i++) {
+      if (!bound[i] && Objects.equals(header, headers.get(i))) {
+        return i;
+      }
     }
+    return -1;
   }
 
   private void removeUtfByteOrderMark(String[] headersInFile) {
@@ -178,8 +1028,42 @@ public class CsvService {
     }
   }
 
-  private int getColumn(List<String> headersInFile, List<String> headers) {
-    return Iterables.indexOf(headers, header -> !headersInFile.contains(header));
+  // field per file column, unchanged when the file has the expected column order
+  private List<String> columnFields(int[] columns, int headerCount, List<String> fieldNames) {
+    if (fieldNames.size() != headerCount || isInOrder(columns, headerCount)) {
+      return fieldNames;
+    }
+    List<String> columnFields = new ArrayList<>(columns.length);
+    for (int column : columns) {
+      columnFields.add(column < 0 ? null : fieldNames.get(column));
+    }
+    return columnFields;
+  }
+
+  // processor per file column, unchanged when the file has the expected column order
+  private CellProcessor[] columnProcessors(int[] columns, int headerCount,
+      CellProcessor[] cellProcessors) {
+    if (cellProcessors == null || cellProcessors.length != headerCount
+        || isInOrder(columns, headerCount)) {
+      return cellProcessors;
+    }
+    CellProcessor[] columnProcessors = new CellProcessor[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      columnProcessors[i] = columns[i] < 0 ? null : cellProcessors[columns[i]];
+    }
+    return columnProcessors;
+  }
+
+  private boolean isInOrder(int[] columns, int headerCount) {
+    if (columns.length != headerCount) {
+      return false;
+    }
+    for (int i = 0; i < columns.length; i++) {
+      if (columns[i] != i) {
+        return false;
+      }
+    }
+    return true;
   }
 
   private <T> T getEntity(
@@ -197,8 +1081,17 @@ public class CsvService {
 
   public List<Map<String, String>> readToMap(String csvInput, CsvPreference csvPreference)
       throws IOException {
+    return readToMap(new StringReader(csvInput), csvPreference);
+  }
+
+  /**
+   * Streaming variant of {@link #readToMap(String, CsvPreference)}. The reader is closed once all
+   * rows are read.
+   */
+  public List<Map<String, String>> readToMap(Reader csvInput, CsvPreference csvPreference)
+      throws IOException {
     List<Map<String, String>> csvRows = new ArrayList<>();
-    try (CsvMapReader mapReader = new CsvMapReader(new StringReader(csvInput), csvPreference)) {
+    try (CsvMapReader mapReader = new CsvMapReader(csvInput, csvPreference)) {
       String[] headers = mapReader.getHeader(true);
       Map<String, String> rowData;
       while ((rowData = mapReader.read(headers)) != null) {
@@ -209,6 +1102,89 @@ public class CsvService {
     return csvRows;
   }
 
+  /**
+   * Columnar variant of {@link #readToMap(String, CsvPreference)}. The returned table holds the
+   * headers once and each column as an array, rows are map views equal to the maps
+   * {@code readToMap} returns.
+   */
+  public CsvTable readToTable(String csvInput, CsvPreference csvPreference) throws IOException {
+    return readToTable(new StringReader(csvInput), csvPreference);
+  }
+
+  /**
+   * Streaming variant of {@link #readToTable(String, CsvPreference)}. The reader is closed once
+   * all rows are read.
+   */
+  public CsvTable readToTable(Reader csvInput, CsvPreference csvPreference) throws IOException {
+    try (CsvRowSource rowSource = CsvParserEngine.SUPER_CSV.open(csvInput, csvPreference)) {
+      String[] headers = rowSource.getHeader(true);
+      CsvTable.Builder table = CsvTable.builder(headers == null ? new String[0] : headers);
+      List<String> columns = new ArrayList<>();
+      while (rowSource.readRow()) {
+        columns.clear();
+        for (int i = 1; i <= rowSource.length(); i++) {
+          columns.add(rowSource.get(i));
+        }
+        table.addRow(columns);
+      }
+      return table.build();
+    }
+  }
+
+  /**
+   * Streaming variant of {@link #readToTable(String, CsvPreference)} reading UTF-8 content from
+   * the stream. The stream is closed once all rows are read.
+   */
+  public CsvTable readToTable(InputStream csvInput, CsvPreference csvPreference)
+      throws IOException {
+    return readToTable(CsvUtils.toReader(csvInput), csvPreference);
+  }
+
+  /**
+   * Variant of {@link #readToMap(Reader, CsvPreference)} returning only the rows accepted by the
+   * filter. The filter sees the raw cells of each row before its map is built.
+   *
+   * @throws IllegalArgumentException if a filter header is not in the file
+   */
+  public List<Map<String, String>> readToMap(Reader csvInput, CsvPreference csvPreference,
+      CsvRowFilter rowFilter) throws IOException {
+    List<Map<String, String>> csvRows = new ArrayList<>();
+    try (CsvRowSource rowSource = CsvParserEngine.SUPER_CSV.open(csvInput, csvPreference)) {
+      String[] headers = rowSource.getHeader(true);
+      int[] filterColumns = rowFilter.columnsIn(headers);
+      int missingHeader = ArrayUtils.indexOf(filterColumns, -1);
+      Validate.isTrue(missingHeader < 0, "Filter header '%s' is not in the file",
+          missingHeader < 0 ? null : rowFilter.getHeaders().get(missingHeader));
+      CharSequence[] filterCells = new CharSequence[filterColumns.length];
+      List<String> columns = new ArrayList<>(headers.length);
+      while (rowSource.readRow()) {
+        for (int i = 0; i < filterColumns.length; i++) {
+          filterCells[i] = rowSource.getCell(filterColumns[i]);
+        }
+        if (rowFilter.test(filterCells)) {
+          columns.clear();
+          for (int i = 1; i <= rowSource.length(); i++) {
+            columns.add(rowSource.get(i));
+          }
+          Map<String, String> rowData = new HashMap<>();
+          Util.filterListToMap(rowData, headers, columns);
+          csvRows.add(rowData);
+        }
+      }
+    }
+
+    return csvRows;
+  }
+
+  /**
+   * Streaming variant of {@link #readToMap(String, CsvPreference)} reading UTF-8 content from the
+   * stream. The stream is closed once all rows are read.
+   */
+  public List<Map<String, String>> readToMap(InputStream csvInput, CsvPreference csvPreference)
+      throws IOException {
+    return readToMap(CsvUtils.toReader(csvInput), csvPreference);
+  }
+
   public byte[] exportDataWithProcessors(
       List entities,
       List<String> headers,
@@ -236,21 +1212,149 @@ public class CsvService {
       List<String> fields,
       CsvPreference preference,
       List<CellProcessor> cellProcessors) {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    exportDataToOutputStreamWithPreferenceAndProcessors(output, entities, headers, fields,
+        preference, cellProcessors);
+    return output.toByteArray();
+  }
+
+  /**
+   * Writes the CSV straight to the stream as UTF-8, without building the whole output in memory.
+   * The stream is flushed but not closed.
+   */
+  public void exportDataToOutputStream(OutputStream output, List entities, List<String> headers,
+      List<String> fields) {
+    exportDataToOutputStreamWithPreferenceAndProcessors(output, entities, headers, fields,
+        CsvPreference.STANDARD_PREFERENCE, null);
+  }
+
+  /**
+   * Exports the entities of the stream as they are produced, e.g. from a database cursor. The
+   * entity stream is consumed but not closed, the output stream is flushed but not closed.
+   */
+  public void exportDataToOutputStream(OutputStream output, Stream<?> entities,
+      List<String> headers, List<String> fields) {
+    exportDataToOutputStreamWithPreferenceAndProcessors(output, entities.iterator(), headers,
+        fields, CsvPreference.STANDARD_PREFERENCE, null);
+  }
+
+  public void exportDataToOutputStreamWithPreferenceAndProcessors(
+      OutputStream output,
+      List entities,
+      List<String> headers,
+      List<String> fields,
+      CsvPreference preference,
+      List<CellProcessor> cellProcessors) {
+    exportDataToOutputStreamWithPreferenceAndProcessors(output, entities.iterator(), headers,
+        fields, preference, cellProcessors);
+  }
+
+  public void exportDataToOutputStreamWithPreferenceAndProcessors(
+      OutputStream output,
+      Iterator<?> entities,
+      List<String> headers,
+      List<String> fields,
+      CsvPreference preference,
+      List<CellProcessor> cellProcessors) {
+    writeData(new OutputStreamWriter(output, StandardCharsets.UTF_8), entities, headers, fields,
+        preference, cellProcessors);
+  }
+
+  /**
+   * Exports entities fetched page by page, only one page is held in memory at a time. The stream
+   * is flushed but not closed.
+   *
+   * @param pageSupplier fetches the next page for the given offset and limit
+   * @param pageSize     limit passed to the page supplier
+   */
+  public void exportPagedDataToOutputStream(
+      OutputStream output,
+      PageSupplier<?> pageSupplier,
+      int pageSize,
+      List<String> headers,
+      List<String> fields,
+      CsvPreference preference,
+      List<CellProcessor> cellProcessors) {
+    Validate.isTrue(pageSize > 0, "Page size must be positive");
+    exportDataToOutputStreamWithPreferenceAndProcessors(output, pageSupplier.iterator(pageSize),
+        headers, fields, preference, cellProcessors);
+  }
+
+  /**
+   * Writes the CSV straight to the channel as UTF-8, without building the whole output in memory.
+   * The channel is not closed.
+   */
+  public void exportDataToChannel(
+      WritableByteChannel channel,
+      List entities,
+      List<String> headers,
+      List<String> fields,
+      CsvPreference preference,
+      List<CellProcessor> cellProcessors) {
+    writeData(Channels.newWriter(channel, StandardCharsets.UTF_8), entities.iterator(), headers,
+        fields, preference, cellProcessors);
+  }
+
+  /**
+   * Exports with a precompiled plan, which can be built once and reused for every export of the
+   * same entity type. The stream is flushed but not closed.
+   */
+  public <T> void exportDataToOutputStream(
+      OutputStream output,
+      Iterator<? extends T> entities,
+      List<String> headers,
+      CsvExportPlan<T> plan,
+      CsvPreference preference) {
+    writeData(new OutputStreamWriter(output, StandardCharsets.UTF_8), entities, headers, plan,
+        preference);
+  }
+
+  private void writeData(
+      Writer writer,
+      Iterator<?> entities,
+      List<String> headers,
+      List<String> fields,
+      CsvPreference preference,
+      List<CellProcessor> cellProcessors) {
+    if (!entities.hasNext()) {
+      // no entity type to resolve the getters for, only the header is written
+      writeData(writer, entities, headers, null, preference);
+      return;
+    }
+    Object first = entities.next();
+    writeData(writer, Iterators.concat(Iterators.singletonIterator(first), entities), headers,
+        CsvExportPlan.of(first.getClass(), fields, cellProcessors), preference);
+  }
+
+  // the list writer is only flushed, closing it would close the caller's stream, a null plan
+  // writes the header only
+  private void writeData(
+      Writer writer,
+      Iterator<?> entities,
+      List<String> headers,
+      CsvExportPlan<?> plan,
+      CsvPreference preference) {
     CsvPreference csvPreference = new CsvPreference.Builder(preference).useEncoder(
         new EscapeFormulaEncoder()).build();
-    try (Writer writer = new CharArrayWriter();
-        ICsvBeanWriter beanWriter = new CsvBeanWriter(writer, csvPreference)) {
-      beanWriter.writeHeader(headers.toArray(String[]::new));
-      for (Object entity : entities) {
+    ICsvListWriter listWriter = new CsvListWriter(writer, csvPreference);
+    CellProcessor[] cellProcessors = plan == null ? null : plan.getCellProcessors();
+    Object[] values = new Object[plan == null ? 0 : plan.getColumnCount()];
+    List<Object> row = Arrays.asList(values);
+    try {
+      listWriter.writeHeader(headers.toArray(String[]::new));
+      while (plan != null && entities.hasNext()) {
+        Object entity = entities.next();
+        if (entity.getClass() != plan.getEntityType()) {
+          plan = plan.forType(entity.getClass());
+        }
+        plan.extractValues(entity, values);
         if (cellProcessors != null) {
-          beanWriter.write(entity, fields.toArray(String[]::new),
-              cellProcessors.toArray(CellProcessor[]::new));
+          listWriter.write(row, cellProcessors);
         } else {
-          beanWriter.write(entity, fields.toArray(String[]::new));
+          listWriter.write(row);
         }
       }
-      beanWriter.flush();
-      return writer.toString().getBytes(StandardCharsets.UTF_8);
+      listWriter.flush();
     } catch (IOException e) {
       throw new InternalErrorException(CSV_EXPORT_ERROR, e);
     }
@@ -262,21 +1366,33 @@ public class CsvService {
         CsvPreference.STANDARD_PREFERENCE);
   }
 
+  /**
+   * Exports entities as they are produced by the iterator, e.g. from a database cursor, so the
+   * result set never has to be loaded as a whole. The writer is closed once the export completes.
+   */
+  public void exportDataToWriter(Writer writer, Iterator<?> entities, List<String> headers,
+      List<String> fields) {
+    exportDataToWriterWithPreference(writer, entities, headers, fields,
+        CsvPreference.STANDARD_PREFERENCE);
+  }
+
   public void exportDataToWriterWithPreference(
       Writer writer,
       List entities,
       List<String> headers,
       List<String> fields,
       CsvPreference preference) {
-    CsvPreference csvPreference = new CsvPreference.Builder(preference).useEncoder(
-        new EscapeFormulaEncoder()).build();
+    exportDataToWriterWithPreference(writer, entities.iterator(), headers, fields, preference);
+  }
 
-    try (ICsvBeanWriter beanWriter = new CsvBeanWriter(writer, csvPreference)) {
-      beanWriter.writeHeader(headers.toArray(String[]::new));
-      for (Object entity : entities) {
-        beanWriter.write(entity, fields.toArray(String[]::new));
-      }
-      beanWriter.flush();
+  public void exportDataToWriterWithPreference(
+      Writer writer,
+      Iterator<?> entities,
+      List<String> headers,
+      List<String> fields,
+      CsvPreference preference) {
+    try (writer) {
+      writeData(writer, entities, headers, fields, preference, null);
     } catch (IOException e) {
       throw new InternalErrorException(CSV_EXPORT_ERROR, e);
     }
@@ -289,72 +1405,305 @@ public class CsvService {
 
   public byte[] exportErrorReport(Map<Integer, List<String>> errorsMap, List<CsvRow> entities,
       List<String> headers, List<String> fields) {
-    Map<Integer, List<String>> messagesMap = convertCodesToMessages(errorsMap);
-    List<List<String>> rowsContent = mergeData(entities, fields, messagesMap);
-
-    return exportDataForErrorReport(rowsContent, headers);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    exportErrorReport(output, errorsMap, entities, headers, fields);
+    return output.toByteArray();
   }
 
-  private List<List<String>> mergeData(List<CsvRow> entities, List<String> entityFields,
-      Map<Integer, List<String>> errorMessagesMap) {
-    List<List<String>> rowsContent = new ArrayList<>();
-    entities.forEach(item -> {
-      List<String> rowValues = (isNotEmpty(entityFields)) ?
-          item.getRowValues(entityFields) :
-          item.getRowValues();
-      Optional.ofNullable(errorMessagesMap.get(item.getIndex()))
-          .ifPresent(rowValues::addAll);
-      rowsContent.add(rowValues);
-    });
-
-    return rowsContent;
+  /**
+   * Writes the error report straight to the stream as UTF-8, row by row. Each distinct error code
+   * is resolved to its message once per report. The stream is flushed but not closed.
+   */
+  public void exportErrorReport(OutputStream output, Map<Integer, List<String>> errorsMap,
+      List<CsvRow> entities, List<String> headers, List<String> fields) {
+    Function<CsvRow, List<String>> reportRow = errorReportRow(errorsMap, fields);
+    Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+    try {
+      ICsvListWriter listWriter = new CsvListWriter(writer, CSV_PREFERENCE);
+      listWriter.writeHeader(headers.toArray(String[]::new));
+      for (CsvRow entity : entities) {
+        listWriter.write(reportRow.apply(entity));
+      }
+      listWriter.flush();
+    } catch (IOException e) {
+      log.error("Failed to write export error report.");
+      throw new InternalErrorException(EXPORT_ERROR_REPORT_FAILED, e);
+    }
   }
 
-  private Map<Integer, List<String>> convertCodesToMessages(
-      Map<Integer, List<String>> errorCodesMap) {
-    Map<Integer, List<String>> errorsMessagesMap = new HashMap<>();
-    errorCodesMap.forEach((index, errorCodes) -> {
-      List<String> messages = messageService.getMessages(errorCodes);
-      errorsMessagesMap.put(index, messages);
-    });
+  /**
+   * Writes the same report as {@link #exportErrorReport(OutputStream, Map, List, List, List)},
+   * rendering chunks of rows on the pool while finished chunks are written in order. At most two
+   * chunks per pool thread are rendered ahead of the writer.
+   *
+   * @param pool pool the rows are rendered on
+   */
+  public void exportErrorReport(OutputStream output, Map<Integer, List<String>> errorsMap,
+      List<CsvRow> entities, List<String> headers, List<String> fields, ForkJoinPool pool) {
+    Function<CsvRow, List<String>> reportRow = errorReportRow(errorsMap, fields);
+    Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+    Deque<CompletableFuture<String>> renderedChunks = new ArrayDeque<>();
+    int maxPendingChunks = pool.getParallelism() * PENDING_REPORT_CHUNKS_PER_THREAD;
+    try {
+      writer.write(renderErrorReport(List.of(headers), Function.identity()));
+      int nextRow = 0;
+      while (nextRow < entities.size() || !renderedChunks.isEmpty()) {
+        while (nextRow < entities.size() && renderedChunks.size() < maxPendingChunks) {
+          List<CsvRow> chunk = entities.subList(nextRow,
+              Math.min(entities.size(), nextRow + REPORT_CHUNK_ROWS));
+          renderedChunks.add(CompletableFuture.supplyAsync(
+              () -> renderErrorReport(chunk, reportRow), pool));
+          nextRow += chunk.size();
+        }
+        writer.write(renderedChunks.remove().join());
+      }
+      writer.flush();
+    } catch (IOException | CompletionException e) {
+      renderedChunks.forEach(chunk -> chunk.cancel(false));
+      log.error("Failed to write export error report.");
+      throw new InternalErrorException(EXPORT_ERROR_REPORT_FAILED,
+          e instanceof CompletionException ? e.getCause() : e);
+    }
+  }
 
-    return errorsMessagesMap;
+  /**
+   * Writes the rows rejected by a lenient import with their error messages, the cells as they
+   * were read followed by the message of each error.
+   */
+  public byte[] exportErrorReport(CsvImportResult<?> importResult, List<String> headers) {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    exportErrorReport(output, importResult, headers);
+    return output.toByteArray();
   }
 
-  private byte[] exportDataForErrorReport(List<List<String>> rowsContent, List<String> headers) {
-    try (Writer writer = new CharArrayWriter();
-        ICsvListWriter listWriter = new CsvListWriter(writer, CSV_PREFERENCE)) {
+  /**
+   * Streaming variant of {@link #exportErrorReport(CsvImportResult, List)}. The stream is flushed
+   * but not closed.
+   */
+  public void exportErrorReport(OutputStream output, CsvImportResult<?> importResult,
+      List<String> headers) {
+    Map<String, String> messagesByCode = resolveMessages(importResult.getErrorsMap());
+    Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+    try {
+      ICsvListWriter listWriter = new CsvListWriter(writer, CSV_PREFERENCE);
       listWriter.writeHeader(headers.toArray(String[]::new));
-      for (List<String> rowValues : rowsContent) {
-        listWriter.write(rowValues.toArray(String[]::new));
+      for (CsvRowError rowError : importResult.errors()) {
+        List<String> rowValues = new ArrayList<>(rowError.cells());
+        rowValues.add(messagesByCode.get(rowError.errorCode()));
+        listWriter.write(rowValues);
       }
-
       listWriter.flush();
-      return writer.toString().getBytes(StandardCharsets.UTF_8);
     } catch (IOException e) {
       log.error("Failed to write export error report.");
       throw new InternalErrorException(EXPORT_ERROR_REPORT_FAILED, e);
     }
   }
 
-  private String trimCsv(String str) {
-    str = StringUtils.trimToEmpty(str);
+  private <R> String renderErrorReport(List<R> rows, Function<R, List<String>> reportRow) {
+    StringWriter chunk = new StringWriter();
+    try (ICsvListWriter listWriter = new CsvListWriter(chunk, CSV_PREFERENCE)) {
+      for (R row : rows) {
+        listWriter.write(reportRow.apply(row));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return chunk.toString();
+  }
+
+  // entity values followed by the messages of its errors
+  private Function<CsvRow, List<String>> errorReportRow(Map<Integer, List<String>> errorsMap,
+      List<String> entityFields) {
+    Map<String, String> messagesByCode = resolveMessages(errorsMap);
+    return entity -> {
+      List<String> rowValues = isNotEmpty(entityFields)
+          ? entity.getRowValues(entityFields)
+          : entity.getRowValues();
+      List<String> errorCodes = errorsMap.get(entity.getIndex());
+      if (errorCodes != null) {
+        errorCodes.forEach(errorCode -> rowValues.add(messagesByCode.get(errorCode)));
+      }
+      return rowValues;
+    };
+  }
+
+  private Map<String, String> resolveMessages(Map<Integer, List<String>> errorCodesMap) {
+    List<String> errorCodes = errorCodesMap.values().stream()
+        .flatMap(List::stream)
+        .distinct()
+        .toList();
+    if (errorCodes.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    List<String> messages = messageService.getMessages(errorCodes);
+    Map<String, String> messagesByCode = new HashMap<>();
+    for (int i = 0; i < errorCodes.size(); i++) {
+      messagesByCode.put(errorCodes.get(i), messages.get(i));
+    }
+    return messagesByCode;
+  }
+
+  // headers of the file, entity plan and processors in the column order of the file
+  private record IndexedColumns<T>(String[] headersInFile, CsvImportPlan<T> importPlan,
+      CellProcessor[] cellProcessors) {
+
+  }
+
+  // rows imported from a chunk and the number of rows it contains, filtered ones included
+  private record ChunkRows<T>(List<T> rows, int rowCount) {
+
+  }
+
+  private class IndexedRowIterator<T extends CsvRow> implements Iterator<T> {
 
-    var matchedResult = emptyCsvRowPattern
-        .matcher(str)
-        .results()
-        .reduce((first, second) -> second)
-        .orElse(null);
+    private final CsvImportPlanReader csvReader;
+    private final CsvImportPlan<T> importPlan;
+    private final CellProcessor[] cellProcessors;
+    private T nextRow;
+    private boolean finished;
 
-    if (Objects.nonNull(matchedResult)) {
-      var startMatchedIndex = matchedResult.start();
-      var endIndex = matchedResult.end();
-      var countMatches = StringUtils.countMatches(matchedResult.group(), ",");
+    IndexedRowIterator(CsvImportPlanReader csvReader, CsvImportPlan<T> importPlan,
+        CellProcessor[] cellProcessors) {
+      this.csvReader = csvReader;
+      this.importPlan = importPlan;
+      this.cellProcessors = cellProcessors;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (nextRow == null && !finished) {
+        try {
+          nextRow = readIndexedEntity(csvReader, importPlan, cellProcessors);
+        } catch (CsvException e) {
+          throw new BadRequestRestException(e.getMessage(), e);
+        }
+        finished = nextRow == null;
+      }
+      return nextRow != null;
+    }
 
-      if (startMatchedIndex > 0 && endIndex == str.length() && countMatches > 0) {
-        return str.substring(0, startMatchedIndex + 1);
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
       }
+      T row = nextRow;
+      nextRow = null;
+      return row;
+    }
+  }
+
+  private static class BatchCollector<T> implements Consumer<T> {
+
+    @SuppressWarnings("rawtypes")
+    private static final List END_OF_BATCHES = new ArrayList<>(0);
+
+    private final BlockingQueue<List<T>> batches;
+    private final int batchSize;
+    private final BatchReaderThread readerThread;
+    private List<T> currentBatch;
+
+    BatchCollector(BlockingQueue<List<T>> batches, int batchSize,
+        BatchReaderThread readerThread) {
+      this.batches = batches;
+      this.batchSize = batchSize;
+      this.readerThread = readerThread;
+      this.currentBatch = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public void accept(T row) {
+      currentBatch.add(row);
+      if (currentBatch.size() == batchSize) {
+        flush();
+      }
+    }
+
+    void flush() {
+      if (currentBatch.isEmpty()) {
+        return;
+      }
+      try {
+        if (readerThread.isStopped()) {
+          throw new InterruptedException();
+        }
+        put(currentBatch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CancellationException("Batch import was cancelled");
+      }
+      currentBatch = new ArrayList<>(batchSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    void finish() {
+      if (readerThread.isStopped()) {
+        // the handler side has stopped and no longer waits for batches
+        return;
+      }
+      // the end marker is put even if the reading was interrupted otherwise, the handler side
+      // waits for it
+      boolean interrupted = Thread.interrupted();
+      try {
+        put(END_OF_BATCHES);
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private void put(List<T> batch) throws InterruptedException {
+      ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+        private boolean added;
+
+        @Override
+        public boolean block() throws InterruptedException {
+          if (!added) {
+            batches.put(batch);
+            added = true;
+          }
+          return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+          return added || (added = batches.offer(batch));
+        }
+      });
+    }
+  }
+
+  // thread running the reading task of a batch import, tracked so that stopping the import
+  // interrupts the task but never a later task a pool runs on the same thread
+  private static class BatchReaderThread {
+
+    private Thread thread;
+    private boolean stopped;
+
+    synchronized boolean enter() {
+      if (stopped) {
+        return false;
+      }
+      thread = Thread.currentThread();
+      return true;
+    }
+
+    synchronized void exit() {
+      thread = null;
+      Thread.interrupted();
+    }
+
+    synchronized void stop() {
+      stopped = true;
+      if (thread != null) {
+        thread.interrupt();
+      }
+    }
+
+    synchronized boolean isStopped() {
+      return stopped;
     }
-    return str;
   }
 }
@@ -1,28 +1,89 @@
 package warehouse.com.csv.service;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.stream.Collectors;
 import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Service;
+import warehouse.com.csv.config.MessageCacheProperties;
 
+/**
+ * Resolves messages through the {@link MessageSource} and keeps the results in a bounded cache
+ * keyed by code, locale and arguments, so repeated codes do not reach the message source again.
+ * Arguments are compared with {@code equals}, they should be values such as strings or numbers.
+ */
 @Service
 public class MessageService {
 
   private final MessageSource messageSource;
+  private final Cache<MessageKey, String> messages;
 
   public MessageService(MessageSource messageSource) {
+    this(messageSource, MessageCacheProperties.defaults());
+  }
+
+  /**
+   * @param cacheProperties cache settings, {@code null} for the defaults
+   */
+  public MessageService(MessageSource messageSource, MessageCacheProperties cacheProperties) {
     this.messageSource = messageSource;
+    this.messages = CacheBuilder.newBuilder()
+        .maximumSize(cacheProperties == null
+            ? MessageCacheProperties.DEFAULT_MAXIMUM_SIZE
+            : cacheProperties.maximumSize())
+        .recordStats()
+        .build();
   }
 
   public String getMessage(String messageCode, Object... args) {
-    return messageSource.getMessage(messageCode, args, messageCode, Locale.getDefault());
+    return getMessage(Locale.getDefault(), messageCode, args);
+  }
+
+  /**
+   * @return the message for the locale, or the code itself when there is none
+   */
+  public String getMessage(Locale locale, String messageCode, Object... args) {
+    MessageKey key = new MessageKey(messageCode, locale,
+        args == null ? List.of() : Arrays.asList(args.clone()));
+    String message = messages.getIfPresent(key);
+    if (message == null) {
+      message = messageSource.getMessage(messageCode, args, messageCode, locale);
+      if (message != null) {
+        messages.put(key, message);
+      }
+    }
+    return message;
   }
 
   public List<String> getMessages(List<String> messageCodes) {
+    return getMessages(Locale.getDefault(), messageCodes);
+  }
+
+  public List<String> getMessages(Locale locale, List<String> messageCodes) {
     return messageCodes.stream()
-        .map(this::getMessage)
+        .map(messageCode -> getMessage(locale, messageCode))
         .collect(Collectors.toList());
   }
 
+  /**
+   * @return hit, miss and eviction counts of the message cache
+   */
+  public CacheStats getCacheStats() {
+    return messages.stats();
+  }
+
+  /**
+   * Drops the cached messages, e.g. after the message source was reloaded.
+   */
+  public void clearCache() {
+    messages.invalidateAll();
+  }
+
+  private record MessageKey(String code, Locale locale, List<Object> args) {
+
+  }
 }
@@ -0,0 +1,54 @@
+package warehouse.com.csv.service;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Fetches entities page by page, e.g. from a repository query with offset and limit, so exports
+ * can run in constant memory.
+ *
+ * @param <T> type of the fetched entities
+ */
+@FunctionalInterface
+public interface PageSupplier<T> {
+
+  /**
+   * @param offset number of entities to skip
+   * @param limit  maximum number of entities to return
+   * @return next page, a page smaller than {@code limit} is treated as the last one
+   */
+  List<T> fetch(int offset, int limit);
+
+  /**
+   * Iterates over all pages, fetching the next page only when the previous one is exhausted.
+   */
+  default Iterator<T> iterator(int pageSize) {
+    return new Iterator<>() {
+
+      private List<T> page = List.of();
+      private int pageIndex;
+      private int offset;
+      private boolean lastPage;
+
+      @Override
+      public boolean hasNext() {
+        if (pageIndex == page.size() && !lastPage) {
+          page = fetch(offset, pageSize);
+          pageIndex = 0;
+          offset += page.size();
+          lastPage = page.size() < pageSize;
+        }
+        return pageIndex < page.size();
+      }
+
+      @Override
+      public T next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return page.get(pageIndex++);
+      }
+    };
+  }
+}
@@ -0,0 +1,54 @@
+package warehouse.com.csv.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ByteScannerTest {
+
+  @Test
+  void shouldFindFirstOfEitherByte() {
+    //given
+    byte[] bytes = "hod001,plain,value\nhod002,\"quoted\"\n".getBytes(StandardCharsets.UTF_8);
+
+    //when
+    int newline = ByteScanner.indexOfEither(bytes, 0, bytes.length, (byte) '"', (byte) '\n');
+    int quote = ByteScanner.indexOfEither(bytes, newline + 1, bytes.length, (byte) '"',
+        (byte) '\n');
+    int none = ByteScanner.indexOfEither(bytes, 0, newline, (byte) '"', (byte) '\n');
+
+    //then
+    assertThat(newline).isEqualTo(18);
+    assertThat(quote).isEqualTo(26);
+    assertThat(none).isEqualTo(newline);
+  }
+
+  @Test
+  void shouldMatchByteByByteSearch() {
+    //given
+    Random random = new Random(42);
+    byte[] alphabet = "a,\"\n\ré".getBytes(StandardCharsets.UTF_8);
+    byte[] bytes = new byte[64];
+
+    for (int round = 0; round < 10_000; round++) {
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = random.nextInt(4) == 0 ? alphabet[random.nextInt(alphabet.length)]
+            : (byte) random.nextInt(256);
+      }
+      int from = random.nextInt(bytes.length);
+      int to = from + random.nextInt(bytes.length - from + 1);
+
+      //when
+      int result = ByteScanner.indexOfEither(bytes, from, to, (byte) '"', (byte) '\n');
+
+      //then
+      int expected = from;
+      while (expected < to && bytes[expected] != '"' && bytes[expected] != '\n') {
+        expected++;
+      }
+      assertThat(result).isEqualTo(expected);
+    }
+  }
+}
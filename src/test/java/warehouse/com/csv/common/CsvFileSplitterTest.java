@@ -0,0 +1,79 @@
+package warehouse.com.csv.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CsvFileSplitterTest {
+
+  @TempDir
+  private Path tempDir;
+
+  @Test
+  void shouldSplitOnRecordBoundariesOnly() throws IOException {
+    //given
+    String csv = "Name,Note\nhod001,\"multi\nline\"\nhod002,plain\nhod003,\"a\n\nb\"\n";
+    Path file = write(csv);
+
+    //when
+    CsvFileSplitter.Chunks result = split(file, 100);
+
+    //then
+    assertThat(result.header()).isEqualTo(new CsvChunk(0, 10, 1));
+    assertThat(contents(csv, result.chunks())).containsExactly(
+        "hod001,\"multi\nline\"\n", "hod002,plain\n", "hod003,\"a\n\nb\"");
+    assertThat(result.chunks().stream().map(CsvChunk::firstLine).toList())
+        .containsExactly(2, 4, 5);
+  }
+
+  @Test
+  void shouldExcludeLeadingWhitespaceAndTrailingEmptyRows() throws IOException {
+    //given
+    String csv = " \nName,Note\nhod001,a\n,,\n , \n";
+    Path file = write(csv);
+
+    //when
+    CsvFileSplitter.Chunks result = split(file, 1);
+
+    //then
+    assertThat(contents(csv, List.of(result.header()))).containsExactly("Name,Note\n");
+    assertThat(contents(csv, result.chunks())).containsExactly("hod001,a\n");
+  }
+
+  @Test
+  void shouldReturnHeaderOnlyForFileWithoutData() throws IOException {
+    //given
+    Path file = write("Name,Note");
+
+    //when
+    CsvFileSplitter.Chunks result = split(file, 4);
+
+    //then
+    assertThat(result.header()).isEqualTo(new CsvChunk(0, 9, 1));
+    assertThat(result.chunks()).isEmpty();
+  }
+
+  private CsvFileSplitter.Chunks split(Path file, int maxChunks) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return CsvFileSplitter.split(channel, '"', maxChunks, 1);
+    }
+  }
+
+  private Path write(String csv) throws IOException {
+    return Files.writeString(tempDir.resolve("file.csv"), csv, StandardCharsets.UTF_8);
+  }
+
+  private List<String> contents(String csv, List<CsvChunk> chunks) {
+    return chunks.stream()
+        .map(chunk -> csv.substring((int) chunk.start(), (int) chunk.end()))
+        .toList();
+  }
+}
@@ -12,6 +12,8 @@ import static warehouse.com.csv.common.CsvConstants.ErrorKey.CSV_INVALID_FILE_SI
 import static warehouse.com.csv.common.CsvConstants.ErrorKey.CSV_INVALID_FORMAT;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -91,6 +93,61 @@ class CsvUtilsTest {
         "Wheel,AutoParts\n", result);
   }
 
+  @Test
+  void shouldFailToOpenReaderIfFileIsEmpty() throws IOException {
+    //given
+    String testCaseFileName = "import_empty_body.csv";
+    MockMultipartFile testFile = new MockMultipartFile(testCaseFileName, testCaseFileName,
+        MULTIPART_FORM_DATA_VALUE,
+        this.getClass().getClassLoader().getResourceAsStream("samples/" + testCaseFileName));
+
+    //when then
+    Throwable exception = assertThrows(BadRequestRestException.class,
+        () -> CsvUtils.openReader(testFile));
+    assertTrue(exception.getMessage().contains(CSV_EMPTY_FILE_CONTENT));
+  }
+
+  @Test
+  void shouldFailToOpenReaderIfFileIsBlank() {
+    //given
+    MockMultipartFile testFile = new MockMultipartFile("blank.csv", "blank.csv",
+        MULTIPART_FORM_DATA_VALUE, " \r\n\t\n".getBytes(StandardCharsets.UTF_8));
+
+    //when then
+    Throwable exception = assertThrows(BadRequestRestException.class,
+        () -> CsvUtils.openReader(testFile));
+    assertTrue(exception.getMessage().contains(CSV_EMPTY_FILE_CONTENT));
+  }
+
+  @Test
+  void shouldKeepLeadingWhitespaceWhenOpeningReader() throws IOException {
+    //given
+    MockMultipartFile testFile = new MockMultipartFile("padded.csv", "padded.csv",
+        MULTIPART_FORM_DATA_VALUE, "\n Name\nWheel\n".getBytes(StandardCharsets.UTF_8));
+
+    //when
+    String result = IOUtils.toString(CsvUtils.openReader(testFile));
+
+    //then
+    assertEquals("\n Name\nWheel\n", result);
+  }
+
+  @Test
+  void shouldOpenReaderForCsv() throws IOException {
+    //given
+    String testCaseFileName = "product.csv";
+    MockMultipartFile testFile = new MockMultipartFile(testCaseFileName, testCaseFileName,
+        MULTIPART_FORM_DATA_VALUE,
+        this.getClass().getClassLoader().getResourceAsStream("samples/" + testCaseFileName));
+
+    //when
+    String result = IOUtils.toString(CsvUtils.openReader(testFile));
+
+    //then
+    assertEquals("Name,Product Group\n" +
+        "Wheel,AutoParts\n", result);
+  }
+
   @Test
   void shouldDoNothingIfFileDoesNotExceedsLimit() {
     //given
@@ -112,4 +169,28 @@ class CsvUtilsTest {
         () -> CsvUtils.validateCsvFileSize(fileSize, maxFileSize));
     assertTrue(exception.getMessage().contains(CSV_INVALID_FILE_SIZE));
   }
+
+  @Test
+  void shouldTrimTrailingEmptyRows() throws IOException {
+    //given
+    String csv = "\n Name,Group\na,b\n,,\r\n , ,\n\n";
+
+    //when
+    String result = IOUtils.toString(CsvUtils.trimmedReader(csv));
+
+    //then
+    assertEquals("Name,Group\na,b\n", result);
+  }
+
+  @Test
+  void shouldKeepTrailingRowWithValues() throws IOException {
+    //given
+    String csv = "Name,Group\na,\n,b\n";
+
+    //when
+    String result = IOUtils.toString(CsvUtils.trimmedReader(csv));
+
+    //then
+    assertEquals("Name,Group\na,\n,b", result);
+  }
 }
@@ -0,0 +1,74 @@
+package warehouse.com.csv.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.supercsv.prefs.CsvPreference;
+import org.supercsv.quote.AlwaysQuoteMode;
+import org.supercsv.util.CsvContext;
+
+class EscapeFormulaEncoderTest {
+
+  private final EscapeFormulaEncoder encoder = new EscapeFormulaEncoder();
+
+  @Test
+  void shouldReturnPlainValueUnchanged() {
+    //given
+    String input = "plain value";
+
+    //when
+    String result = encoder.encode(input, new CsvContext(1, 1, 1),
+        CsvPreference.STANDARD_PREFERENCE);
+
+    //then
+    assertSame(input, result);
+  }
+
+  @ParameterizedTest
+  @MethodSource("encodedValues")
+  void shouldEncodeValue(String input, CsvPreference preference, String expected) {
+    //when
+    String result = encoder.encode(input, new CsvContext(1, 1, 1), preference);
+
+    //then
+    assertEquals(expected, result);
+  }
+
+  @Test
+  void shouldCountEncodedLineBreaks() {
+    //given
+    CsvContext context = new CsvContext(1, 1, 1);
+
+    //when
+    String result = encoder.encode("=a\r\nb\nc", context, CsvPreference.STANDARD_PREFERENCE);
+
+    //then
+    assertEquals("\"a\r\nb\r\nc\"", result);
+    assertEquals(3, context.getLineNumber());
+  }
+
+  private static Stream<Arguments> encodedValues() {
+    CsvPreference alwaysQuote = new CsvPreference.Builder(CsvPreference.STANDARD_PREFERENCE)
+        .useQuoteMode(new AlwaysQuoteMode()).build();
+    CsvPreference surroundingSpaces = new CsvPreference.Builder(
+        CsvPreference.STANDARD_PREFERENCE).surroundingSpacesNeedQuotes(true).build();
+    CsvPreference formulaDelimiter = new CsvPreference.Builder('"', '-', "\n").build();
+    return Stream.of(
+        Arguments.of("=SUM(A1)", CsvPreference.STANDARD_PREFERENCE, "SUM(A1)"),
+        Arguments.of("+-@=1", CsvPreference.STANDARD_PREFERENCE, "1"),
+        Arguments.of("a=b", CsvPreference.STANDARD_PREFERENCE, "a=b"),
+        Arguments.of("=a,b", CsvPreference.STANDARD_PREFERENCE, "\"a,b\""),
+        Arguments.of("=\"a\"", CsvPreference.STANDARD_PREFERENCE, "\"\"\"a\"\"\""),
+        Arguments.of("a;b", CsvPreference.EXCEL_NORTH_EUROPE_PREFERENCE, "\"a;b\""),
+        Arguments.of("=a", alwaysQuote, "\"a\""),
+        Arguments.of("= a ", surroundingSpaces, "\" a \""),
+        Arguments.of("=", CsvPreference.STANDARD_PREFERENCE, ""),
+        Arguments.of("=a-b", formulaDelimiter, "\"a-b\"")
+    );
+  }
+}
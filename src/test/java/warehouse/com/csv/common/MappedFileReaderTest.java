@@ -0,0 +1,68 @@
+package warehouse.com.csv.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedFileReaderTest {
+
+  private static final String HEADER = "Name,Country\n";
+  private static final String ROW = "hod001,\u0423\u043A\u0440\u0430\u0457\u043D\u0430\n";
+  private static final String CONTENT = HEADER + ROW + "hod002,\u20AC \uD83D\uDE00\n";
+
+  @TempDir
+  private Path tempDir;
+
+  @Test
+  void shouldDecodeWholeFile() throws IOException {
+    //given
+    Path file = Files.writeString(tempDir.resolve("file.csv"), CONTENT, StandardCharsets.UTF_8);
+
+    //when
+    String result = read(MappedFileReader.open(file));
+
+    //then
+    assertEquals(CONTENT, result);
+  }
+
+  @Test
+  void shouldDecodeByteRange() throws IOException {
+    //given
+    Path file = Files.writeString(tempDir.resolve("file.csv"), CONTENT, StandardCharsets.UTF_8);
+    int start = HEADER.length();
+    int end = start + ROW.getBytes(StandardCharsets.UTF_8).length;
+
+    //when
+    String result = read(MappedFileReader.open(file, start, end));
+
+    //then
+    assertEquals(ROW, result);
+  }
+
+  @Test
+  void shouldReadEmptyFile() throws IOException {
+    //given
+    Path file = Files.writeString(tempDir.resolve("file.csv"), "");
+
+    //when
+    String result = read(MappedFileReader.open(file));
+
+    //then
+    assertEquals("", result);
+  }
+
+  private String read(Reader reader) throws IOException {
+    StringWriter result = new StringWriter();
+    try (reader) {
+      reader.transferTo(result);
+    }
+    return result.toString();
+  }
+}
@@ -0,0 +1,39 @@
+package warehouse.com.csv.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class TrailingEmptyRowsTrimmingReaderTest {
+
+  @ParameterizedTest
+  @MethodSource("csvInputs")
+  void shouldTrimLikeTrimCsv(String csvInput, String expected) throws IOException {
+    //given
+    Reader reader = new TrailingEmptyRowsTrimmingReader(new StringReader(csvInput));
+    StringWriter result = new StringWriter();
+
+    //when
+    reader.transferTo(result);
+
+    //then
+    assertEquals(expected, result.toString());
+  }
+
+  private static Stream<Arguments> csvInputs() {
+    return Stream.of(
+        Arguments.of("Name,Group\nhod001,7Z46\n,,\n,,", "Name,Group\nhod001,7Z46\n"),
+        Arguments.of("  \nName,Group\nhod001,7Z46\n , ,\n\n", "Name,Group\nhod001,7Z46\n"),
+        Arguments.of("Name,Group\n,,\nhod001,7Z46\n", "Name,Group\n,,\nhod001,7Z46"),
+        Arguments.of("Name,Group\nhod001,\n", "Name,Group\nhod001,"),
+        Arguments.of("Name,Group\r\nhod001,7Z46\r\n,\r\n", "Name,Group\r\nhod001,7Z46\r"),
+        Arguments.of("", ""));
+  }
+}
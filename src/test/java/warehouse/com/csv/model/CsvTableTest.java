@@ -0,0 +1,63 @@
+package warehouse.com.csv.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.supercsv.exception.SuperCsvException;
+
+class CsvTableTest {
+
+  @Test
+  void shouldExposeRowsAsMaps() {
+    //given
+    CsvTable table = CsvTable.builder(new String[]{"Warehouse", null, "Article"})
+        .addRow(Arrays.asList("WH1", "ignored", "a1"))
+        .addRow(Arrays.asList("WH1", "ignored", null))
+        .build();
+    //when
+    Map<String, String> row = table.get(1);
+    //then
+    Map<String, String> expected = new HashMap<>();
+    expected.put("Warehouse", "WH1");
+    expected.put("Article", null);
+    Assertions.assertEquals(expected, row);
+    Assertions.assertEquals(expected.hashCode(), row.hashCode());
+    Assertions.assertEquals(List.of("Warehouse", "Article"), table.getHeaders());
+    Assertions.assertEquals(2, table.size());
+    Assertions.assertTrue(row.containsKey("Article"));
+    Assertions.assertFalse(row.containsKey("ignored"));
+    Assertions.assertThrows(UnsupportedOperationException.class, () -> row.put("Article", "x"));
+  }
+
+  @Test
+  void shouldKeepValuesOfColumnsBeyondDictionarySize() {
+    //given
+    CsvTable.Builder builder = CsvTable.builder(new String[]{"Id", "Status"});
+    for (int i = 0; i < 10_000; i++) {
+      builder.addRow(Arrays.asList("id" + i, i % 3 == 0 ? null : "S" + i % 2));
+    }
+    //when
+    CsvTable table = builder.build();
+    //then
+    List<String> ids = table.getColumn("Id");
+    for (int i = 0; i < 10_000; i++) {
+      Assertions.assertEquals("id" + i, ids.get(i));
+      Assertions.assertEquals(i % 3 == 0 ? null : "S" + i % 2, table.get(i, "Status"));
+    }
+    Assertions.assertSame(table.get(1, "Status"), table.get(7, "Status"));
+  }
+
+  @Test
+  void shouldRejectRowsWithWrongNumberOfCells() {
+    //given
+    CsvTable.Builder builder = CsvTable.builder(new String[]{"Warehouse", "Article"});
+    //when
+    //then
+    Assertions.assertThrows(SuperCsvException.class, () -> builder.addRow(List.of("WH1")));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> builder.build().getColumn("Missing"));
+  }
+}
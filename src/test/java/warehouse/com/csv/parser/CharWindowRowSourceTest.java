@@ -0,0 +1,109 @@
+package warehouse.com.csv.parser;
+
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+
+class CharWindowRowSourceTest {
+
+  @Test
+  void shouldReadRowsLikeSuperCsv() throws IOException {
+    //given
+    String csv = "name,group,sale\r\nhod001,\"7Z\r\n\"\"46\"\"\",,\nhod002, ,\"\"\n";
+    //when
+    try (CsvRowSource charWindow = new CharWindowRowSource(new StringReader(csv),
+        CsvPreference.STANDARD_PREFERENCE);
+        CsvRowSource superCsv = new SuperCsvRowSource(new StringReader(csv),
+            CsvPreference.STANDARD_PREFERENCE)) {
+      //then
+      Assertions.assertArrayEquals(superCsv.getHeader(true), charWindow.getHeader(true));
+      while (superCsv.readRow()) {
+        Assertions.assertTrue(charWindow.readRow());
+        Assertions.assertEquals(superCsv.length(), charWindow.length());
+        for (int column = 0; column < superCsv.length(); column++) {
+          Assertions.assertEquals(superCsv.get(column + 1), charWindow.get(column + 1));
+        }
+        Assertions.assertEquals(superCsv.getLineNumber(), charWindow.getLineNumber());
+        Assertions.assertEquals(superCsv.getRowNumber(), charWindow.getRowNumber());
+        Assertions.assertEquals(superCsv.getUntokenizedRow(), charWindow.getUntokenizedRow());
+      }
+      Assertions.assertFalse(charWindow.readRow());
+    }
+  }
+
+  @Test
+  void shouldExposeCellsAsCharSequences() throws IOException {
+    //given
+    CsvRowSource source = new CharWindowRowSource(
+        new StringReader("hod001,\"7Z\"\"46\",,  x  \n"), CsvPreference.STANDARD_PREFERENCE);
+    //when
+    boolean read = source.readRow();
+    //then
+    Assertions.assertTrue(read);
+    Assertions.assertEquals("hod001", source.getCell(0).toString());
+    Assertions.assertEquals("7Z\"46", source.getCell(1).toString());
+    Assertions.assertNull(source.getCell(2));
+    Assertions.assertEquals("  x  ", source.getCell(3).toString());
+    Assertions.assertEquals(1, source.getLineNumber());
+  }
+
+  @Test
+  void shouldSkipCellsOfProjectedOutColumns() throws IOException {
+    //given
+    String csv = "name,group,sale,extra\nhod001,\"7Z\r\n\"\"46\"\"\",\"1,5\",x\nhod002, a ,2\n";
+    CsvRowSource source = new CharWindowRowSource(new StringReader(csv),
+        CsvPreference.STANDARD_PREFERENCE);
+    //when
+    source.project(new boolean[]{true, false, true});
+    String[] header = source.getHeader(true);
+    //then
+    Assertions.assertArrayEquals(new String[]{"name", "group", "sale", "extra"}, header);
+    Assertions.assertTrue(source.readRow());
+    Assertions.assertEquals(4, source.length());
+    Assertions.assertEquals("hod001", source.get(1));
+    Assertions.assertNull(source.get(2));
+    Assertions.assertEquals("1,5", source.get(3));
+    Assertions.assertNull(source.get(4));
+    Assertions.assertEquals(3, source.getLineNumber());
+    Assertions.assertTrue(source.readRow());
+    Assertions.assertEquals(3, source.length());
+    Assertions.assertEquals("hod002", source.get(1));
+    Assertions.assertNull(source.get(2));
+    Assertions.assertEquals("2", source.get(3));
+    Assertions.assertEquals("hod002, a ,2", source.getUntokenizedRow());
+    Assertions.assertFalse(source.readRow());
+  }
+
+  @Test
+  void shouldReadRowLargerThanWindow() throws IOException {
+    //given
+    String longCell = "x".repeat(100_000);
+    CsvRowSource source = new CharWindowRowSource(
+        new StringReader("a,\"" + longCell + "\n" + longCell + "\",b\nc,d,e\n"),
+        CsvPreference.STANDARD_PREFERENCE);
+    //when
+    source.readRow();
+    //then
+    Assertions.assertEquals(longCell + "\n" + longCell, source.get(2));
+    Assertions.assertEquals("b", source.get(3));
+    Assertions.assertTrue(source.readRow());
+    Assertions.assertEquals("c", source.get(1));
+    Assertions.assertEquals(3, source.getLineNumber());
+  }
+
+  @Test
+  void shouldThrowOnUnterminatedQuotedCell() {
+    //given
+    CsvRowSource source = new CharWindowRowSource(new StringReader("a,\"b\nc"),
+        CsvPreference.STANDARD_PREFERENCE);
+    //when
+    SuperCsvException exception = Assertions.assertThrows(SuperCsvException.class,
+        source::readRow);
+    //then
+    Assertions.assertEquals("unexpected end of file while reading quoted column beginning on "
+        + "line 1 and ending on line 2", exception.getMessage());
+  }
+}
@@ -0,0 +1,39 @@
+package warehouse.com.csv.parser;
+
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CsvRowFilterTest {
+
+  @Test
+  void shouldResolveFilterColumnsInFile() {
+    //given
+    CsvRowFilter filter = CsvRowFilter.of(List.of("Status", "Warehouse", "Missing"),
+        cells -> true);
+    //when
+    int[] columns = filter.columnsIn(new String[]{"Warehouse", null, "Status"});
+    //then
+    Assertions.assertArrayEquals(new int[]{2, 0, -1}, columns);
+  }
+
+  @Test
+  void shouldAcceptCellsWithListedValues() {
+    //given
+    CsvRowFilter filter = CsvRowFilter.in("Warehouse", List.of("WH1", "WH2"));
+    //when
+    //then
+    Assertions.assertTrue(filter.test(new CharSequence[]{new StringBuilder("WH2")}));
+    Assertions.assertFalse(filter.test(new CharSequence[]{"WH3"}));
+    Assertions.assertFalse(filter.test(new CharSequence[]{null}));
+  }
+
+  @Test
+  void shouldRejectFilterWithoutHeaders() {
+    //given
+    //when
+    //then
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> CsvRowFilter.of(List.of(), cells -> true));
+  }
+}
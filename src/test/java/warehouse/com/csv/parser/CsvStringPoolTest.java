@@ -0,0 +1,37 @@
+package warehouse.com.csv.parser;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CsvStringPoolTest {
+
+  @Test
+  void shouldReturnPooledStringForSameCharacters() {
+    //given
+    CsvStringPool pool = new CsvStringPool();
+    char[] buffer = "WH1,WH1".toCharArray();
+    //when
+    String first = pool.get(new CharSlice().set(buffer, 0, 3));
+    String second = pool.get(new CharSlice().set(buffer, 4, 3));
+    String fromBuilder = pool.get(new StringBuilder("WH1"));
+    //then
+    Assertions.assertEquals("WH1", first);
+    Assertions.assertSame(first, second);
+    Assertions.assertSame(first, fromBuilder);
+    Assertions.assertNull(pool.get(null));
+  }
+
+  @Test
+  void shouldStayBoundedWhenValuesCollide() {
+    //given
+    CsvStringPool pool = new CsvStringPool(1);
+    //when
+    String first = pool.get("WH1");
+    String second = pool.get("WH2");
+    String third = pool.get(new StringBuilder("WH1"));
+    //then
+    Assertions.assertEquals("WH2", second);
+    Assertions.assertEquals(first, third);
+    Assertions.assertNotSame(first, third);
+  }
+}
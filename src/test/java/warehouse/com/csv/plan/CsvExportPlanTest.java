@@ -0,0 +1,76 @@
+package warehouse.com.csv.plan;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.supercsv.exception.SuperCsvReflectionException;
+import warehouse.com.csv.model.TestCsvRow;
+
+class CsvExportPlanTest {
+
+  @Test
+  void shouldExtractFieldValues() {
+    //given
+    TestCsvRow row = new TestCsvRow("name", "group", "1.5", null, "art");
+    row.setIndex(7);
+    CsvExportPlan<TestCsvRow> plan = CsvExportPlan.of(TestCsvRow.class,
+        Arrays.asList("article", "index", null, "name"), null);
+    Object[] values = new Object[plan.getColumnCount()];
+
+    //when
+    plan.extractValues(row, values);
+
+    //then
+    assertArrayEquals(new Object[]{"art", 7, null, "name"}, values);
+  }
+
+  @Test
+  void shouldReadBooleanGetterWithIsPrefix() {
+    //given
+    CsvExportPlan<Flag> plan = CsvExportPlan.of(Flag.class, List.of("active"), null);
+    Object[] values = new Object[1];
+
+    //when
+    plan.extractValues(new Flag(), values);
+
+    //then
+    assertArrayEquals(new Object[]{true}, values);
+  }
+
+  @Test
+  void shouldReuseFieldsForOtherType() {
+    //given
+    CsvExportPlan<Flag> plan = CsvExportPlan.of(Flag.class, List.of("active"), null);
+    Object[] values = new Object[1];
+
+    //when
+    plan.forType(OtherFlag.class).extractValues(new OtherFlag(), values);
+
+    //then
+    assertArrayEquals(new Object[]{false}, values);
+  }
+
+  @Test
+  void shouldFailForUnknownField() {
+    //when //then
+    assertThrows(SuperCsvReflectionException.class,
+        () -> CsvExportPlan.of(TestCsvRow.class, List.of("unknown"), null));
+  }
+
+  public static class Flag {
+
+    public boolean isActive() {
+      return true;
+    }
+  }
+
+  public static class OtherFlag {
+
+    public Boolean isActive() {
+      return false;
+    }
+  }
+}
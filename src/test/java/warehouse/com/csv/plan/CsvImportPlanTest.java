@@ -0,0 +1,265 @@
+package warehouse.com.csv.plan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.supercsv.cellprocessor.ConvertNullTo;
+import org.supercsv.cellprocessor.Optional;
+import org.supercsv.cellprocessor.ParseInt;
+import org.supercsv.cellprocessor.constraint.LMinMax;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.exception.SuperCsvConstraintViolationException;
+import org.supercsv.exception.SuperCsvReflectionException;
+import org.supercsv.prefs.CsvPreference;
+import warehouse.com.csv.model.TestCsvRow;
+import warehouse.com.csv.parser.CsvParserEngine;
+import warehouse.com.csv.processor.BigDecimalCellProcessor;
+import warehouse.com.csv.processor.DoubleCellProcessor;
+import warehouse.com.csv.processor.IntCellProcessor;
+import warehouse.com.csv.processor.LongCellProcessor;
+import warehouse.com.csv.processor.UpperCaseCellProcessor;
+
+class CsvImportPlanTest {
+
+  @Test
+  void shouldPopulateEntity() {
+    //given
+    CsvImportPlan<TestCsvRow> plan = CsvImportPlan.of(TestCsvRow.class,
+        Arrays.asList("name", null, "article", "index"));
+
+    //when
+    TestCsvRow row = plan.populate(Arrays.asList("n", "ignored", null, 3));
+
+    //then
+    assertEquals("n", row.getName());
+    assertNull(row.getArticle());
+    assertEquals(3, row.getIndex());
+  }
+
+  @Test
+  void shouldCachePlanPerTypeAndFields() {
+    //when
+    CsvImportPlan<TestCsvRow> first = CsvImportPlan.of(TestCsvRow.class,
+        List.of("name", "article"));
+    CsvImportPlan<TestCsvRow> second = CsvImportPlan.of(TestCsvRow.class,
+        new ArrayList<>(List.of("name", "article")));
+
+    //then
+    assertSame(first, second);
+  }
+
+  @Test
+  void shouldEvictPlansOfRarelyUsedFieldLists() {
+    //given
+    List<String> fields = new ArrayList<>(List.of("name"));
+    CsvImportPlan<TestCsvRow> first = CsvImportPlan.of(TestCsvRow.class, fields);
+
+    //when
+    for (int i = 0; i < CsvImportPlan.MAX_PLANS_PER_TYPE * 16; i++) {
+      fields.add(null);
+      CsvImportPlan.of(TestCsvRow.class, fields);
+    }
+
+    //then
+    assertNotSame(first, CsvImportPlan.of(TestCsvRow.class, List.of("name")));
+  }
+
+  @Test
+  void shouldChooseOverloadedSetterByValueType() {
+    //given
+    CsvImportPlan<Overloaded> plan = CsvImportPlan.of(Overloaded.class, List.of("value"));
+
+    //when
+    Overloaded fromText = plan.populate(List.of("text"));
+    Overloaded fromNumber = plan.populate(List.of(5));
+
+    //then
+    assertEquals("string:text", fromText.value);
+    assertEquals("int:5", fromNumber.value);
+  }
+
+  @Test
+  void shouldFailForMissingSetter() {
+    //given
+    CsvImportPlan<TestCsvRow> plan = CsvImportPlan.of(TestCsvRow.class, List.of("unknown"));
+
+    //when //then
+    assertThrows(SuperCsvReflectionException.class, () -> plan.populate(List.of("value")));
+  }
+
+  @Test
+  void shouldReadRowsWithProcessors() throws IOException {
+    //given
+    CsvImportPlan<TestCsvRow> plan = CsvImportPlan.of(TestCsvRow.class,
+        List.of("name", "index"));
+    CellProcessor[] processors = {null, new ParseInt()};
+
+    //when
+    try (CsvImportPlanReader reader = new CsvImportPlanReader(new StringReader("a,1\nb,2\n"),
+        CsvPreference.STANDARD_PREFERENCE)) {
+      TestCsvRow first = reader.read(plan, processors);
+      TestCsvRow second = reader.read(plan, processors);
+
+      //then
+      assertEquals("a", first.getName());
+      assertEquals(2, second.getIndex());
+      assertNull(reader.read(plan, processors));
+    }
+  }
+
+  @Test
+  void shouldFailForRowWithWrongColumnCount() throws IOException {
+    //given
+    CsvImportPlan<TestCsvRow> plan = CsvImportPlan.of(TestCsvRow.class,
+        List.of("name", "article"));
+
+    //when //then
+    try (CsvImportPlanReader reader = new CsvImportPlanReader(new StringReader("a,b,c\n"),
+        CsvPreference.STANDARD_PREFERENCE)) {
+      assertThrows(IllegalArgumentException.class, () -> reader.read(plan));
+    }
+  }
+
+  @Test
+  void shouldBindNumericProcessorsToFields() throws IOException {
+    //given
+    CsvImportPlan<Quantities> plan = CsvImportPlan.of(Quantities.class,
+        Arrays.asList("name", "count", "weight", "price", "total", null));
+    CellProcessor[] processors = {null, new IntCellProcessor(), new LongCellProcessor(),
+        new DoubleCellProcessor(), new BigDecimalCellProcessor(), new IntCellProcessor()};
+
+    //when
+    try (CsvImportPlanReader reader = new CsvImportPlanReader(
+        CsvParserEngine.CHAR_WINDOW.open(new StringReader("a,3,9876543210,12.50,7.10,5\n"),
+            CsvPreference.STANDARD_PREFERENCE))) {
+      Quantities quantities = reader.read(plan, processors);
+
+      //then
+      assertEquals("a", quantities.name);
+      assertEquals(3, quantities.count);
+      assertEquals(9_876_543_210L, quantities.weight);
+      assertEquals(12.5, quantities.price);
+      assertEquals(new BigDecimal("7.10"), quantities.total);
+    }
+  }
+
+  @Test
+  void shouldBindNumericProcessorsBehindNullReplacement() throws IOException {
+    //given
+    CsvImportPlan<Quantities> plan = CsvImportPlan.of(Quantities.class,
+        List.of("count", "weight", "price"));
+    CellProcessor[] processors = {new Optional(new IntCellProcessor()),
+        new ConvertNullTo(7L, new LongCellProcessor()), new Optional(new DoubleCellProcessor())};
+
+    //when
+    try (CsvImportPlanReader reader = new CsvImportPlanReader(
+        CsvParserEngine.CHAR_WINDOW.open(new StringReader("3,,\n,5,1.5\n"),
+            CsvPreference.STANDARD_PREFERENCE))) {
+      Quantities first = reader.read(plan, processors);
+      Quantities second = reader.read(plan, processors);
+
+      //then
+      assertNotNull(plan.binders(processors)[0]);
+      assertEquals(3, first.count);
+      assertEquals(7L, first.weight);
+      assertEquals(0.0, first.price);
+      assertEquals(0, second.count);
+      assertEquals(5L, second.weight);
+      assertEquals(1.5, second.price);
+    }
+  }
+
+  @Test
+  void shouldRunLinksFollowingNumericProcessor() throws IOException {
+    //given
+    CsvImportPlan<Quantities> plan = CsvImportPlan.of(Quantities.class, List.of("weight"));
+    CellProcessor[] processors = {new LongCellProcessor(new LMinMax(0, 10))};
+
+    //when
+    try (CsvImportPlanReader reader = new CsvImportPlanReader(
+        CsvParserEngine.CHAR_WINDOW.open(new StringReader("5\n11\n"),
+            CsvPreference.STANDARD_PREFERENCE))) {
+      Quantities quantities = reader.read(plan, processors);
+
+      //then
+      assertNull(plan.binders(processors));
+      assertEquals(5L, quantities.weight);
+      assertThrows(SuperCsvConstraintViolationException.class,
+          () -> reader.read(plan, processors));
+    }
+  }
+
+  @Test
+  void shouldReportColumnOfUnparsableNumericCell() throws IOException {
+    //given
+    CsvImportPlan<Quantities> plan = CsvImportPlan.of(Quantities.class,
+        List.of("name", "count"));
+    CellProcessor[] processors = {new UpperCaseCellProcessor(), new IntCellProcessor()};
+
+    //when
+    try (CsvImportPlanReader reader = new CsvImportPlanReader(new StringReader("a,3\nb,x\n"),
+        CsvPreference.STANDARD_PREFERENCE)) {
+      assertEquals("A", reader.read(plan, processors).name);
+      SuperCsvCellProcessorException exception = assertThrows(
+          SuperCsvCellProcessorException.class, () -> reader.read(plan, processors));
+
+      //then
+      assertEquals(2, exception.getCsvContext().getColumnNumber());
+      assertEquals(2, exception.getCsvContext().getLineNumber());
+    }
+  }
+
+  public static class Quantities {
+
+    private String name;
+    private int count;
+    private long weight;
+    private double price;
+    private BigDecimal total;
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public void setCount(int count) {
+      this.count = count;
+    }
+
+    public void setWeight(long weight) {
+      this.weight = weight;
+    }
+
+    public void setPrice(double price) {
+      this.price = price;
+    }
+
+    public void setTotal(BigDecimal total) {
+      this.total = total;
+    }
+  }
+
+  public static class Overloaded {
+
+    private String value;
+
+    public void setValue(String value) {
+      this.value = "string:" + value;
+    }
+
+    public void setValue(int value) {
+      this.value = "int:" + value;
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package warehouse.com.csv.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.util.CsvContext;
+
+class BigDecimalCellProcessorTest {
+
+  private final BigDecimalCellProcessor processor = new BigDecimalCellProcessor();
+  private final CsvContext context = new CsvContext(2, 1, 3);
+
+  @Test
+  void shouldKeepScaleOfStringConstructor() {
+    for (String cell : new String[] {"12.50", "-0.00", ".5", "5.", "+3",
+        "1234567890.123456789", "1E+3"}) {
+      assertThat(processor.parseBigDecimal(cell, context)).isEqualTo(new BigDecimal(cell));
+    }
+    assertThat((BigDecimal) processor.execute("7.25", context)).isEqualTo(new BigDecimal("7.25"));
+  }
+
+  @Test
+  void shouldRejectInvalidCell() {
+    assertThatThrownBy(() -> processor.parseBigDecimal("12,5", context))
+        .isInstanceOf(SuperCsvCellProcessorException.class)
+        .hasMessage("'12,5' could not be parsed as a BigDecimal");
+  }
+}
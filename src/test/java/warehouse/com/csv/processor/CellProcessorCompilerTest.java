@@ -0,0 +1,85 @@
+package warehouse.com.csv.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+import org.supercsv.cellprocessor.Optional;
+import org.supercsv.cellprocessor.ParseBigDecimal;
+import org.supercsv.cellprocessor.ParseInt;
+import org.supercsv.cellprocessor.StrReplace;
+import org.supercsv.cellprocessor.Trim;
+import org.supercsv.cellprocessor.constraint.NotNull;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.exception.SuperCsvConstraintViolationException;
+import org.supercsv.util.CsvContext;
+
+class CellProcessorCompilerTest {
+
+  private final CsvContext context = new CsvContext(1, 1, 1);
+
+  @Test
+  void shouldFuseTrimAndUpperCase() {
+    //given
+    CellProcessor processor = CellProcessorCompiler.compile(
+        new UpperCaseCellProcessor(new Trim(new NotNull())));
+
+    //when
+    String result = processor.execute("  ek-7z46 ", context);
+
+    //then
+    assertThat(processor).isInstanceOf(FusedCellProcessor.class);
+    assertThat(result).isEqualTo("EK-7Z46");
+  }
+
+  @Test
+  void shouldReportFailingLinkOfOriginalChain() {
+    //given
+    Trim trim = new Trim();
+    NotNull notNull = new NotNull(new ParseInt());
+    CellProcessor upperCaseThenTrim = CellProcessorCompiler.compile(
+        new UpperCaseCellProcessor(trim));
+    CellProcessor parse = CellProcessorCompiler.compile(notNull);
+
+    //when
+    SuperCsvCellProcessorException nullForTrim = assertThrows(
+        SuperCsvCellProcessorException.class, () -> upperCaseThenTrim.execute(null, context));
+    SuperCsvConstraintViolationException nullForNotNull = assertThrows(
+        SuperCsvConstraintViolationException.class, () -> parse.execute(null, context));
+
+    //then
+    assertThat(nullForTrim.getProcessor()).isSameAs(trim);
+    assertThat(nullForNotNull.getProcessor()).isSameAs(notNull);
+    assertThatThrownBy(() -> parse.execute("1.5", context))
+        .isInstanceOf(SuperCsvCellProcessorException.class)
+        .hasMessage("'1.5' could not be parsed as an Integer");
+  }
+
+  @Test
+  void shouldStopOptionalChainOnNull() {
+    //given
+    CellProcessor processor = CellProcessorCompiler.compile(new Optional(new ParseBigDecimal()));
+
+    //when //then
+    assertThat((Object) processor.execute(null, context)).isNull();
+    assertThat((BigDecimal) processor.execute("7.10", context)).isEqualTo(new BigDecimal("7.10"));
+  }
+
+  @Test
+  void shouldRunUnknownLinksAsTheyAre() {
+    //given
+    StrReplace replace = new StrReplace("-", "");
+    CellProcessor fused = CellProcessorCompiler.compile(new Trim(replace));
+
+    //when
+    String result = fused.execute(" ek-1 ", context);
+
+    //then
+    assertThat(result).isEqualTo("ek1");
+    assertThat(CellProcessorCompiler.compile(replace)).isSameAs(replace);
+    assertThat(CellProcessorCompiler.compile((CellProcessor) null)).isNull();
+  }
+}
@@ -0,0 +1,30 @@
+package warehouse.com.csv.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.util.CsvContext;
+
+class DoubleCellProcessorTest {
+
+  private final DoubleCellProcessor processor = new DoubleCellProcessor();
+  private final CsvContext context = new CsvContext(2, 1, 3);
+
+  @Test
+  void shouldParseLikeDoubleValueOf() {
+    for (String cell : new String[] {"12.50", "-0", ".5", "1.", "0.1", "123456789012345",
+        "1234567890123456789", "1e3", " 2.5 ", "0.30000000000000004"}) {
+      assertThat(processor.parseDouble(cell, context)).isEqualTo(Double.valueOf(cell));
+    }
+    assertThat((Double) processor.execute("7.25", context)).isEqualTo(7.25);
+  }
+
+  @Test
+  void shouldRejectInvalidCell() {
+    assertThatThrownBy(() -> processor.parseDouble("1,5", context))
+        .isInstanceOf(SuperCsvCellProcessorException.class)
+        .hasMessage("'1,5' could not be parsed as a Double");
+  }
+}
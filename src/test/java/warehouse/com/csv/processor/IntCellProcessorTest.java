@@ -0,0 +1,29 @@
+package warehouse.com.csv.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.util.CsvContext;
+
+class IntCellProcessorTest {
+
+  private final IntCellProcessor processor = new IntCellProcessor();
+  private final CsvContext context = new CsvContext(2, 1, 3);
+
+  @Test
+  void shouldParseCellCharacters() {
+    assertThat(processor.parseInt(new StringBuilder("-42"), context)).isEqualTo(-42);
+    assertThat((Integer) processor.execute("+7", context)).isEqualTo(7);
+  }
+
+  @Test
+  void shouldRejectInvalidCell() {
+    assertThatThrownBy(() -> processor.parseInt("4.2", context))
+        .isInstanceOf(SuperCsvCellProcessorException.class)
+        .hasMessage("'4.2' could not be parsed as an Integer");
+    assertThatThrownBy(() -> processor.execute(null, context))
+        .isInstanceOf(SuperCsvCellProcessorException.class);
+  }
+}
@@ -0,0 +1,28 @@
+package warehouse.com.csv.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.util.CsvContext;
+
+class LongCellProcessorTest {
+
+  private final LongCellProcessor processor = new LongCellProcessor();
+  private final CsvContext context = new CsvContext(2, 1, 3);
+
+  @Test
+  void shouldParseCellCharacters() {
+    assertThat(processor.parseLong(new StringBuilder("9876543210"), context))
+        .isEqualTo(9_876_543_210L);
+    assertThat((Long) processor.execute("-1", context)).isEqualTo(-1L);
+  }
+
+  @Test
+  void shouldRejectInvalidCell() {
+    assertThatThrownBy(() -> processor.parseLong(" 1", context))
+        .isInstanceOf(SuperCsvCellProcessorException.class)
+        .hasMessage("' 1' could not be parsed as a Long");
+  }
+}
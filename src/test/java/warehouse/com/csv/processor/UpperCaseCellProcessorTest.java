@@ -2,6 +2,7 @@ package warehouse.com.csv.processor;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Locale;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,6 +26,26 @@ class UpperCaseCellProcessorTest {
     assertThat(result).isEqualTo("7Z46");
   }
 
+  @Test
+  void shouldUpperCaseNonAsciiValue() {
+    String result = processor.execute("straße 7z", null);
+
+    assertThat(result).isEqualTo("STRASSE 7Z");
+  }
+
+  @Test
+  void shouldUseTurkishCaseMappingForTurkishLocale() {
+    Locale defaultLocale = Locale.getDefault();
+    try {
+      Locale.setDefault(new Locale("tr"));
+      String result = processor.execute("ik1", null);
+
+      assertThat(result).isEqualTo("\u0130K1");
+    } finally {
+      Locale.setDefault(defaultLocale);
+    }
+  }
+
   @Test
   void shouldSkipNullValue() {
     String result = processor.execute(null, null);
@@ -2,30 +2,57 @@ package warehouse.com.csv.service;
 
 import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.http.MediaType.MULTIPART_FORM_DATA_VALUE;
+import static warehouse.com.csv.common.CsvConstants.ErrorKey.CSV_IMPORT_INVALID_HEADERS;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.supercsv.cellprocessor.constraint.NotNull;
 import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.prefs.CsvPreference;
 import warehouse.com.csv.model.CsvRow;
+import warehouse.com.csv.model.CsvRowError;
+import warehouse.com.csv.model.CsvTable;
 import warehouse.com.csv.model.TestCsvRow;
+import warehouse.com.csv.parser.CsvParserEngine;
+import warehouse.com.csv.parser.CsvRowFilter;
+import warehouse.com.csv.plan.CsvExportPlan;
 import warehouse.com.csv.processor.UpperCaseCellProcessor;
 import warehouse.com.csv.service.exception.CsvException;
 import warehouse.com.reststarter.exception.BadRequestRestException;
@@ -40,6 +67,8 @@ class CsvServiceTest {
   private static final String headers_5_String = String.join(",", headers_5) + "\n";
   private static final String DATA_WITH_TAB_PREFERENCE = "Name\tProduct Group\tSale Price\n";
 
+  @TempDir
+  private Path tempDir;
   @InjectMocks
   private CsvService csvService;
   @Mock
@@ -60,6 +89,135 @@ class CsvServiceTest {
     Assertions.assertEquals("Name,Product Group\r\nNAME,PRTS\r\n", new String(bytes));
   }
 
+  @Test
+  void shouldExportDataToOutputStream() throws IOException {
+    //given
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    TestCsvRow testCsvRow = new TestCsvRow("name", "=prts", null, null, null);
+
+    //when
+    csvService.exportDataToOutputStream(output, List.of(testCsvRow),
+        List.of("Name", "Product Group"), List.of("name", "productGroup"));
+    output.write('#');
+
+    //then
+    Assertions.assertEquals("Name,Product Group\r\nname,prts\r\n#",
+        output.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void shouldExportDataToChannel() {
+    //given
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    UpperCaseCellProcessor processor = new UpperCaseCellProcessor();
+    TestCsvRow testCsvRow = new TestCsvRow("n\u00E4me", "prts", null, null, null);
+
+    //when
+    csvService.exportDataToChannel(Channels.newChannel(output), List.of(testCsvRow),
+        List.of("Name", "Product Group"), List.of("name", "productGroup"),
+        CsvPreference.STANDARD_PREFERENCE, List.of(processor, processor));
+
+    //then
+    Assertions.assertEquals("Name,Product Group\r\nN\u00C4ME,PRTS\r\n",
+        output.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void shouldExportDataFromStream() {
+    //given
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    Stream<TestCsvRow> entities = Stream.of("a", "b", "c")
+        .map(name -> TestCsvRow.builder().name(name).build());
+
+    //when
+    csvService.exportDataToOutputStream(output, entities, List.of("Name"), List.of("name"));
+
+    //then
+    Assertions.assertEquals("Name\r\na\r\nb\r\nc\r\n", output.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void shouldExportDataWithPlan() {
+    //given
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    UpperCaseCellProcessor processor = new UpperCaseCellProcessor();
+    CsvExportPlan<TestCsvRow> plan = CsvExportPlan.of(TestCsvRow.class,
+        List.of("name", "productGroup"), List.of(processor, processor));
+    List<TestCsvRow> entities = List.of(new TestCsvRow("a", "x", null, null, null),
+        new TestCsvRow("b", "=y", null, null, null));
+
+    //when
+    csvService.exportDataToOutputStream(output, entities.iterator(),
+        List.of("Name", "Product Group"), plan, CsvPreference.STANDARD_PREFERENCE);
+
+    //then
+    Assertions.assertEquals("Name,Product Group\r\nA,X\r\nB,Y\r\n",
+        output.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void shouldExportEntitiesOfDifferentTypes() {
+    //given
+    TestCsvRow first = TestCsvRow.builder().name("a").build();
+    first.setIndex(1);
+    CsvRow second = new CsvRow() {
+      @Override
+      public List<String> getRowValues() {
+        return List.of();
+      }
+
+      @Override
+      public List<String> getRowValues(List<String> fields) {
+        return List.of();
+      }
+    };
+    second.setIndex(2);
+
+    //when
+    byte[] result = csvService.exportData(List.of(first, second), List.of("Index"),
+        List.of("index"));
+
+    //then
+    Assertions.assertEquals("Index\r\n1\r\n2\r\n", new String(result));
+  }
+
+  @Test
+  void shouldExportDataPageByPage() {
+    //given
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    List<TestCsvRow> entities = Stream.of("a", "b", "c", "d", "e")
+        .map(name -> TestCsvRow.builder().name(name).build())
+        .toList();
+    List<Integer> requestedOffsets = new ArrayList<>();
+    PageSupplier<TestCsvRow> pageSupplier = (offset, limit) -> {
+      requestedOffsets.add(offset);
+      return entities.subList(Math.min(offset, entities.size()),
+          Math.min(offset + limit, entities.size()));
+    };
+
+    //when
+    csvService.exportPagedDataToOutputStream(output, pageSupplier, 2, List.of("Name"),
+        List.of("name"), CsvPreference.STANDARD_PREFERENCE, null);
+
+    //then
+    Assertions.assertEquals("Name\r\na\r\nb\r\nc\r\nd\r\ne\r\n",
+        output.toString(StandardCharsets.UTF_8));
+    assertThat(requestedOffsets).containsExactly(0, 2, 4);
+  }
+
+  @Test
+  void shouldExportDataFromIteratorToWriter() {
+    //given
+    Writer writer = new StringWriter();
+
+    //when
+    csvService.exportDataToWriter(writer, List.of(TestCsvRow.builder().name("a").build())
+        .iterator(), List.of("Name"), List.of("name"));
+
+    //then
+    Assertions.assertEquals("Name\r\na\r\n", writer.toString());
+  }
+
   @Test
   void shouldExportData() {
     //given
@@ -72,6 +230,18 @@ class CsvServiceTest {
     Assertions.assertEquals(31, result.length);
   }
 
+  @Test
+  void shouldExportHeaderOnlyWhenThereAreNoEntities() {
+    //given
+
+    //when
+    byte[] result = csvService.exportData(emptyList(), List.of("Name", "Product Group"),
+        List.of("name", "productGroup"));
+
+    //then
+    Assertions.assertEquals("Name,Product Group\r\n", new String(result));
+  }
+
   @Test
   void shouldExportDataToWriter() throws IOException {
     //given
@@ -236,6 +406,560 @@ class CsvServiceTest {
     Assertions.assertEquals(1, result.size());
   }
 
+  @ParameterizedTest
+  @MethodSource("csvInputEmptyCellsInTheEnd")
+  void shouldTrimCsvAndReadDataFromReader(List<String> headers, List<String> fields,
+      String csvString, String sn) throws CsvException {
+    //given
+    //when
+    List<TestCsvRow> result = csvService.readIndexedData(new StringReader(csvString),
+        TestCsvRow.class, headers, fields);
+    //then
+    Assertions.assertEquals("VR-S3", result.get(0).getProductGroup());
+    Assertions.assertEquals(sn, result.get(0).getSalePrice());
+    Assertions.assertEquals(1, result.size());
+  }
+
+  @ParameterizedTest
+  @MethodSource("csvInputEmptyCellsInTheEnd")
+  void shouldTrimCsvAndReadDataWithCharWindowEngine(List<String> headers, List<String> fields,
+      String csvString, String sn) throws CsvException {
+    //given
+    CsvImportOptions options = CsvImportOptions.builder()
+        .engine(CsvParserEngine.CHAR_WINDOW)
+        .build();
+    //when
+    List<TestCsvRow> result = csvService.readIndexedData(csvString, TestCsvRow.class, headers,
+        fields, options);
+    //then
+    Assertions.assertEquals("VR-S3", result.get(0).getProductGroup());
+    Assertions.assertEquals(sn, result.get(0).getSalePrice());
+    Assertions.assertEquals(1, result.size());
+  }
+
+  @Test
+  void shouldReadDataIndexedWithCharWindowEngineAndProcessors() throws CsvException {
+    //given
+    CsvImportOptions options = CsvImportOptions.builder()
+        .engine(CsvParserEngine.CHAR_WINDOW)
+        .build();
+    //when
+    List<TestCsvRow> result = csvService.readIndexedData(
+        headers_5_String + "hod001,\"7z\"\"46\",ek12345678,,\nhod002,\"a\r\nb\",x,,",
+        TestCsvRow.class, headers_5, fields_5, options, getCellProcessors());
+    //then
+    Assertions.assertEquals("7Z\"46", result.get(0).getProductGroup());
+    Assertions.assertEquals("EK12345678", result.get(0).getSalePrice());
+    Assertions.assertEquals("A\nB", result.get(1).getProductGroup());
+    Assertions.assertEquals(3, result.get(1).getIndex());
+  }
+
+  @Test
+  void shouldReportInvalidRowWithCharWindowEngine() {
+    //given
+    CsvImportOptions options = CsvImportOptions.builder()
+        .engine(CsvParserEngine.CHAR_WINDOW)
+        .build();
+    //when
+    CsvException exception = Assertions.assertThrows(CsvException.class,
+        () -> csvService.readIndexedData(headers_5_String + "hod001,7Z46,1,,\nhod002,1\n",
+            TestCsvRow.class, headers_5, fields_5, options));
+    //then
+    Assertions.assertEquals(3, exception.getLine());
+    Assertions.assertEquals("hod002,1", exception.getContent());
+  }
+
+  @Test
+  void shouldCollectInvalidRowsWhenReadingLeniently() throws CsvException {
+    //given
+    CellProcessor[] processors = getCellProcessors();
+    processors[2] = new NotNull(new UpperCaseCellProcessor());
+    //when
+    CsvImportResult<TestCsvRow> result = csvService.readIndexedDataLeniently(
+        headers_5_String + "hod001,7z46,ek1,,\nhod002,1\nhod003,7z47,,,\nhod004,7z48,ek4,,",
+        TestCsvRow.class, headers_5, fields_5, CsvImportOptions.defaults(), processors);
+    //then
+    Assertions.assertEquals(2, result.rows().size());
+    Assertions.assertEquals(5, result.rows().get(1).getIndex());
+    Assertions.assertEquals(2, result.errors().size());
+    CsvRowError shortRow = result.errors().get(0);
+    Assertions.assertEquals(3, shortRow.rowNumber());
+    Assertions.assertEquals(3, shortRow.line());
+    Assertions.assertEquals(0, shortRow.column());
+    Assertions.assertEquals("hod002,1", shortRow.content());
+    Assertions.assertEquals(List.of("hod002", "1"), shortRow.cells());
+    CsvRowError emptySalePrice = result.errors().get(1);
+    Assertions.assertEquals(4, emptySalePrice.rowNumber());
+    Assertions.assertEquals(3, emptySalePrice.column());
+    Assertions.assertEquals(Map.of(3, List.of("csv.import.invalid.content"),
+        4, List.of("csv.import.invalid.content")), result.getErrorsMap());
+  }
+
+  @Test
+  void shouldCollectUnterminatedQuoteWhenReadingLenientlyWithCharWindowEngine()
+      throws CsvException {
+    //given
+    CsvImportOptions options = CsvImportOptions.builder()
+        .engine(CsvParserEngine.CHAR_WINDOW)
+        .build();
+    //when
+    CsvImportResult<TestCsvRow> result = csvService.readIndexedDataLeniently(
+        headers_5_String + "hod001,7Z46,1,,\nhod002,\"7Z47,2,,",
+        TestCsvRow.class, headers_5, fields_5, options);
+    //then
+    Assertions.assertEquals(1, result.rows().size());
+    Assertions.assertEquals(1, result.errors().size());
+    Assertions.assertEquals(3, result.errors().get(0).rowNumber());
+    Assertions.assertEquals(List.of("hod002,\"7Z47,2,,\n"), result.errors().get(0).cells());
+  }
+
+  @Test
+  void shouldThrowExceptionIfLenientImportHasNoRows() {
+    //given
+    //when
+    Assertions.assertThrows(CsvException.class,
+        () -> csvService.readIndexedDataLeniently(headers_5_String, TestCsvRow.class, headers_5,
+            fields_5, CsvImportOptions.defaults()));
+  }
+
+  @Test
+  void shouldExportErrorReportOfLenientImport() throws CsvException {
+    //given
+    CsvImportResult<TestCsvRow> result = csvService.readIndexedDataLeniently(
+        new StringReader(headers_5_String + "hod001,7Z46,1,,\nhod002,1\n"), TestCsvRow.class,
+        headers_5, fields_5, CsvImportOptions.defaults());
+    when(messageService.getMessages(List.of("csv.import.invalid.content")))
+        .thenReturn(List.of("Invalid content"));
+    //when
+    byte[] report = csvService.exportErrorReport(result, headers_5);
+    //then
+    Assertions.assertEquals(headers_5_String.replace("\n", "\r\n")
+        + "hod002,1,Invalid content\r\n", new String(report, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void shouldEstimateRowCountOfValidFileInPreflight() throws Exception {
+    //given
+    Path csvFile = tempDir.resolve("valid.csv");
+    StringBuilder csv = new StringBuilder(headers_5_String);
+    for (int i = 0; i < 1000; i++) {
+      csv.append(String.format("hod%04d,7Z46,1234567890,,%n", i).replace("\r", ""));
+    }
+    Files.writeString(csvFile, csv);
+    CsvSamplingOptions sampling = CsvSamplingOptions.builder()
+        .leadingRows(10)
+        .randomRows(20)
+        .seed(42L)
+        .build();
+    //when
+    CsvPreflightReport report = csvService.preflightIndexedData(csvFile, TestCsvRow.class,
+        headers_5, fields_5, CsvImportOptions.defaults(), sampling, getCellProcessors());
+    //then
+    Assertions.assertTrue(report.likelyValid());
+    Assertions.assertEquals(1000, report.estimatedRowCount());
+    Assertions.assertEquals(26, report.averageRowBytes());
+    Assertions.assertTrue(report.sampledRows() > 10);
+  }
+
+  @Test
+  void shouldEstimateRowCountFromLeadingRowsOnlyInPreflight() throws Exception {
+    //given
+    Path csvFile = tempDir.resolve("leading.csv");
+    StringBuilder csv = new StringBuilder(headers_5_String);
+    for (int i = 0; i < 1000; i++) {
+      csv.append(String.format("hod%04d,7Z46,1234567890,,%n", i).replace("\r", ""));
+    }
+    Files.writeString(csvFile, csv);
+    CsvSamplingOptions sampling = CsvSamplingOptions.builder()
+        .leadingRows(10)
+        .randomRows(0)
+        .build();
+    //when
+    CsvPreflightReport report = csvService.preflightIndexedData(csvFile, TestCsvRow.class,
+        headers_5, fields_5, CsvImportOptions.defaults(), sampling, getCellProcessors());
+    //then
+    Assertions.assertTrue(report.likelyValid());
+    Assertions.assertEquals(10, report.sampledRows());
+    Assertions.assertEquals(1000, report.estimatedRowCount());
+  }
+
+  @Test
+  void shouldCountRowsExactlyInPreflightOfSmallFile() throws Exception {
+    //given
+    Path csvFile = tempDir.resolve("small.csv");
+    Files.writeString(csvFile, headers_5_String + "hod001,7Z46,1,,\nhod002,1\n,,,,\n");
+    //when
+    CsvPreflightReport report = csvService.preflightIndexedData(csvFile, TestCsvRow.class,
+        headers_5, fields_5, CsvImportOptions.defaults(), CsvSamplingOptions.defaults());
+    //then
+    Assertions.assertFalse(report.likelyValid());
+    Assertions.assertEquals(2, report.estimatedRowCount());
+    Assertions.assertEquals(1, report.errors().size());
+    Assertions.assertEquals(3, report.errors().get(0).line());
+  }
+
+  @Test
+  void shouldReportInvalidRowsSampledAtRandomOffsets() throws Exception {
+    //given
+    Path csvFile = tempDir.resolve("invalid.csv");
+    StringBuilder csv = new StringBuilder(headers_5_String + "hod001,7Z46,1,,\n");
+    for (int i = 0; i < 1000; i++) {
+      csv.append("hod002,1\n");
+    }
+    Files.writeString(csvFile, csv);
+    CsvSamplingOptions sampling = CsvSamplingOptions.builder()
+        .leadingRows(1)
+        .randomRows(5)
+        .build();
+    //when
+    CsvPreflightReport report = csvService.preflightIndexedData(csvFile, TestCsvRow.class,
+        headers_5, fields_5, CsvImportOptions.defaults(), sampling);
+    //then
+    Assertions.assertFalse(report.likelyValid());
+    Assertions.assertFalse(report.errors().isEmpty());
+    Assertions.assertEquals(0, report.errors().get(0).line());
+    Assertions.assertEquals(List.of("hod002", "1"), report.errors().get(0).cells());
+  }
+
+  @Test
+  void shouldNotSampleRandomRowsOfHeaderOnlyFileInPreflight() throws Exception {
+    //given
+    Path csvFile = tempDir.resolve("header.csv");
+    Files.writeString(csvFile, headers_5_String.strip());
+    CsvSamplingOptions sampling = CsvSamplingOptions.builder()
+        .leadingRows(0)
+        .build();
+    //when
+    CsvPreflightReport report = csvService.preflightIndexedData(csvFile, TestCsvRow.class,
+        headers_5, fields_5, CsvImportOptions.defaults(), sampling);
+    //then
+    Assertions.assertFalse(report.likelyValid());
+    Assertions.assertEquals(0, report.sampledRows());
+    Assertions.assertTrue(report.errors().isEmpty());
+  }
+
+  @Test
+  void shouldNotSampleTrailingEmptyRowsInPreflight() throws Exception {
+    //given
+    Path csvFile = tempDir.resolve("trailing.csv");
+    StringBuilder csv = new StringBuilder(headers_5_String);
+    for (int i = 0; i < 100; i++) {
+      csv.append(String.format("hod%04d,7Z46,1234567890,,%n", i).replace("\r", ""));
+    }
+    csv.append(",\n".repeat(1000));
+    Files.writeString(csvFile, csv);
+    CsvSamplingOptions sampling = CsvSamplingOptions.builder()
+        .leadingRows(0)
+        .randomRows(50)
+        .seed(7L)
+        .build();
+    //when
+    CsvPreflightReport report = csvService.preflightIndexedData(csvFile, TestCsvRow.class,
+        headers_5, fields_5, CsvImportOptions.defaults(), sampling, getCellProcessors());
+    //then
+    Assertions.assertTrue(report.likelyValid());
+    Assertions.assertTrue(report.errors().isEmpty());
+  }
+
+  @Test
+  void shouldThrowExceptionIfPreflightHeadersDoNotMatch() throws IOException {
+    //given
+    Path csvFile = tempDir.resolve("headers.csv");
+    Files.writeString(csvFile, "Name,Product Group\nhod001,7Z46\n");
+    //when
+    Assertions.assertThrows(CsvException.class,
+        () -> csvService.preflightIndexedData(csvFile, TestCsvRow.class, headers_5, fields_5,
+            CsvImportOptions.defaults(), CsvSamplingOptions.defaults()));
+  }
+
+  @Test
+  void shouldReadDataIndexedFromReader() throws CsvException {
+    //given
+    Reader reader = new StringReader(headers_5_String + "hod001,7Z46,1234567890,,\n"
+        + "hod002,7Z47,1234567891,,");
+    //when
+    List<TestCsvRow> result = csvService.readIndexedData(reader, TestCsvRow.class, headers_5,
+        fields_5);
+    //then
+    Assertions.assertEquals(2, result.size());
+    Assertions.assertEquals("hod002", result.get(1).getName());
+    Assertions.assertEquals(3, result.get(1).getIndex());
+  }
+
+  @Test
+  void shouldReadDataIndexedFromInputStream() throws CsvException {
+    //given
+    InputStream inputStream = new ByteArrayInputStream(
+        (headers_5_String + "hod001,7z46,ek12345678,,").getBytes(StandardCharsets.UTF_8));
+    //when
+    List<TestCsvRow> result = csvService.readIndexedData(inputStream, TestCsvRow.class,
+        headers_5, fields_5, getCellProcessors());
+    //then
+    Assertions.assertEquals("7Z46", result.get(0).getProductGroup());
+    Assertions.assertEquals(2, result.get(0).getIndex());
+  }
+
+  @Test
+  void shouldReadDataIndexedFromMultipartFile() throws CsvException {
+    //given
+    MockMultipartFile file = new MockMultipartFile("product.csv", "product.csv",
+        MULTIPART_FORM_DATA_VALUE,
+        (headers_5_String + "hod001,7Z46,1234567890,,\n,,,,\n").getBytes(StandardCharsets.UTF_8));
+    //when
+    List<TestCsvRow> result = csvService.readIndexedData(file, TestCsvRow.class, headers_5,
+        fields_5);
+    //then
+    Assertions.assertEquals(1, result.size());
+    Assertions.assertEquals("hod001", result.get(0).getName());
+  }
+
+  @Test
+  void shouldThrowExceptionIfStreamHasNoData() {
+    //given
+    Reader reader = new StringReader(headers_5_String);
+    //when
+    Assertions.assertThrows(CsvException.class,
+        () -> csvService.readIndexedData(reader, TestCsvRow.class, headers_5, fields_5));
+  }
+
+  @Test
+  void shouldPassEachRowToConsumer() throws CsvException {
+    //given
+    List<TestCsvRow> consumed = new ArrayList<>();
+    //when
+    int result = csvService.readIndexed(new StringReader(headers_5_String
+            + "hod001,7z46,ek12345678,,\nhod002,7z47,ek12345679,,\n,,,,"), TestCsvRow.class,
+        headers_5, fields_5, consumed::add, getCellProcessors());
+    //then
+    Assertions.assertEquals(2, result);
+    Assertions.assertEquals("7Z47", consumed.get(1).getProductGroup());
+    Assertions.assertEquals(3, consumed.get(1).getIndex());
+  }
+
+  @Test
+  void shouldPropagateConsumerException() {
+    //given
+    Reader reader = new StringReader(headers_5_String + "hod001,7Z46,1234567890,,");
+    //when
+    Assertions.assertThrows(IllegalStateException.class,
+        () -> csvService.readIndexed(reader, TestCsvRow.class, headers_5, fields_5, row -> {
+          throw new IllegalStateException();
+        }));
+  }
+
+  @Test
+  void shouldStreamRowsLazily() throws CsvException {
+    //given
+    Reader reader = new StringReader(headers_5_String + "hod001,7Z46,1234567890,,\n"
+        + "hod002,broken row");
+    //when
+    try (Stream<TestCsvRow> rows = csvService.streamIndexed(reader, TestCsvRow.class, headers_5,
+        fields_5)) {
+      List<TestCsvRow> result = rows.limit(1).toList();
+      //then
+      Assertions.assertEquals("hod001", result.get(0).getName());
+      Assertions.assertEquals(2, result.get(0).getIndex());
+    }
+  }
+
+  @Test
+  void shouldFailStreamOnInvalidRow() throws CsvException {
+    //given
+    Reader reader = new StringReader(headers_5_String + "hod001,7Z46,1234567890,,\n"
+        + "hod002,broken row");
+    //when
+    try (Stream<TestCsvRow> rows = csvService.streamIndexed(reader, TestCsvRow.class, headers_5,
+        fields_5)) {
+      //then
+      BadRequestRestException exception = Assertions.assertThrows(BadRequestRestException.class,
+          rows::toList);
+      Assertions.assertEquals(3, ((CsvException) exception.getCause()).getLine());
+    }
+  }
+
+  @Test
+  void shouldValidateHeadersBeforeStreaming() {
+    //given
+    Reader reader = new StringReader("Name,Group\nhod001,7Z46");
+    //when
+    Assertions.assertThrows(CsvException.class,
+        () -> csvService.streamIndexed(reader, TestCsvRow.class, headers_5, fields_5));
+  }
+
+  @Test
+  void shouldHandleRowsInBatches() throws CsvException {
+    //given
+    StringBuilder csv = new StringBuilder(headers_5_String);
+    for (int i = 0; i < 5; i++) {
+      csv.append("hod00").append(i).append(",7Z46,1234567890,,\n");
+    }
+    List<List<TestCsvRow>> batches = new ArrayList<>();
+    //when
+    int result = csvService.readIndexedInBatches(new StringReader(csv + ",,,,"),
+        TestCsvRow.class, headers_5, fields_5, 2, batches::add);
+    //then
+    Assertions.assertEquals(5, result);
+    assertThat(batches.stream().map(List::size).toList()).containsExactly(2, 2, 1);
+    Assertions.assertEquals("hod004", batches.get(2).get(0).getName());
+    Assertions.assertEquals(6, batches.get(2).get(0).getIndex());
+  }
+
+  @Test
+  void shouldHandleRowsInBatchesFromSingleThreadPool() throws Exception {
+    //given
+    StringBuilder csv = new StringBuilder(headers_5_String);
+    for (int i = 0; i < 100; i++) {
+      csv.append("hod").append(i).append(",7Z46,1234567890,,\n");
+    }
+    ForkJoinPool pool = new ForkJoinPool(1);
+    //when
+    int result = pool.submit(() -> csvService.readIndexedInBatches(
+        new StringReader(csv.toString()), TestCsvRow.class, headers_5, fields_5, 10,
+        batch -> {
+        })).get(10, TimeUnit.SECONDS);
+    //then
+    Assertions.assertEquals(100, result);
+    pool.shutdown();
+  }
+
+  @Test
+  void shouldPropagateBatchHandlerException() {
+    //given
+    StringBuilder csv = new StringBuilder(headers_5_String);
+    for (int i = 0; i < 100; i++) {
+      csv.append("hod").append(i).append(",7Z46,1234567890,,\n");
+    }
+    //when
+    Assertions.assertThrows(IllegalStateException.class,
+        () -> csvService.readIndexedInBatchesWithSpecialPreference(new StringReader(csv.toString()),
+            TestCsvRow.class, headers_5, fields_5, CsvPreference.STANDARD_PREFERENCE, 10, 1,
+            batch -> {
+              throw new IllegalStateException();
+            }));
+  }
+
+  @Test
+  void shouldStopReadingTaskWhenBatchHandlerThrows() throws Exception {
+    //given
+    StringBuilder csv = new StringBuilder(headers_5_String);
+    for (int i = 0; i < 1000; i++) {
+      csv.append("hod").append(i).append(",7Z46,1234567890,,\n");
+    }
+    AtomicBoolean closed = new AtomicBoolean();
+    Reader reader = new StringReader(csv.toString()) {
+      @Override
+      public void close() {
+        closed.set(true);
+        super.close();
+      }
+    };
+    ForkJoinPool pool = new ForkJoinPool(1);
+    //when
+    Assertions.assertThrows(IllegalStateException.class,
+        () -> csvService.readIndexedInBatchesWithSpecialPreference(reader, TestCsvRow.class,
+            headers_5, fields_5, CsvPreference.STANDARD_PREFERENCE, 10, 1,
+            batch -> {
+              throw new IllegalStateException();
+            }, pool));
+    //then
+    Assertions.assertTrue(pool.awaitQuiescence(10, TimeUnit.SECONDS));
+    Assertions.assertTrue(closed.get());
+    Assertions.assertFalse(pool.submit(() -> Thread.currentThread().isInterrupted()).get());
+    pool.shutdown();
+  }
+
+  @Test
+  void shouldFailBatchImportOnInvalidRow() {
+    //given
+    List<List<TestCsvRow>> batches = new ArrayList<>();
+    Reader reader = new StringReader(headers_5_String + "hod001,7Z46,1234567890,,\n"
+        + "hod002,broken row");
+    //when
+    CsvException exception = Assertions.assertThrows(CsvException.class,
+        () -> csvService.readIndexedInBatches(reader, TestCsvRow.class, headers_5, fields_5, 1,
+            batches::add));
+    //then
+    Assertions.assertEquals(3, exception.getLine());
+    Assertions.assertEquals(1, batches.size());
+  }
+
+  @Test
+  void shouldReadDataIndexedFromMappedFile() throws Exception {
+    //given
+    Path file = Files.writeString(tempDir.resolve("products.csv"),
+        "\uFEFF" + headers_5_String + "hod001,7z46,ek12345678,,\nhod002,\u00FC,1,,\n,,,,\n",
+        StandardCharsets.UTF_8);
+    //when
+    List<TestCsvRow> result = csvService.readIndexedData(file, TestCsvRow.class, headers_5,
+        fields_5, getCellProcessors());
+    //then
+    Assertions.assertEquals(2, result.size());
+    Assertions.assertEquals("7Z46", result.get(0).getProductGroup());
+    Assertions.assertEquals("\u00DC", result.get(1).getProductGroup());
+    Assertions.assertEquals(3, result.get(1).getIndex());
+  }
+
+  @Test
+  void shouldReadDataIndexedInParallelFromFile() throws Exception {
+    //given
+    StringBuilder csv = new StringBuilder(headers_5_String);
+    for (int i = 0; i < 1000; i++) {
+      csv.append("hod").append(i).append(",\"7Z\n46\",1234567890,,\n");
+    }
+    Path file = Files.writeString(tempDir.resolve("products.csv"), csv + ",,,,\n");
+    //when
+    List<TestCsvRow> result = csvService.readIndexedDataInParallel(file, TestCsvRow.class,
+        headers_5, fields_5, CsvPreference.STANDARD_PREFERENCE, new ForkJoinPool(4));
+    //then
+    Assertions.assertEquals(1000, result.size());
+    Assertions.assertEquals("hod999", result.get(999).getName());
+    Assertions.assertEquals("7Z\n46", result.get(999).getProductGroup());
+    Assertions.assertEquals(1001, result.get(999).getIndex());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"SUPER_CSV", "CHAR_WINDOW"})
+  void shouldApplyImportOptionsInParallel(String engine) throws Exception {
+    //given
+    StringBuilder csv = new StringBuilder(
+        "Status,Name,Product Group,Sale Price,Purchase Price,Article\n");
+    for (int i = 0; i < 100_000; i++) {
+      csv.append(i % 3 == 0 ? "DELETED" : "ACTIVE").append(",hod").append(i)
+          .append(",7Z46,1234567890,,\n");
+    }
+    Path file = Files.writeString(tempDir.resolve("filtered.csv"), csv);
+    CsvImportOptions options = CsvImportOptions.builder()
+        .engine(CsvParserEngine.valueOf(engine))
+        .allowExtraColumns(true)
+        .rowFilter(CsvRowFilter.in("Status", List.of("ACTIVE")))
+        .build();
+    //when
+    List<TestCsvRow> result = csvService.readIndexedDataInParallel(file, TestCsvRow.class,
+        headers_5, fields_5, options, new ForkJoinPool(4));
+    //then
+    List<TestCsvRow> expected = csvService.readIndexedData(csv.toString(), TestCsvRow.class,
+        headers_5, fields_5, options);
+    Assertions.assertEquals(expected.size(), result.size());
+    Assertions.assertEquals(66_666, result.size());
+    for (int i = 0; i < expected.size(); i++) {
+      Assertions.assertEquals(expected.get(i).getName(), result.get(i).getName());
+      Assertions.assertEquals(expected.get(i).getIndex(), result.get(i).getIndex());
+    }
+  }
+
+  @Test
+  void shouldThrowExceptionIfParallelImportFindsInvalidRow() throws Exception {
+    //given
+    Path file = Files.writeString(tempDir.resolve("products.csv"),
+        headers_5_String + "hod001,\"7Z\n46\",1234567890,,\nhod002,broken row\n");
+    //when
+    CsvException exception = Assertions.assertThrows(CsvException.class,
+        () -> csvService.readIndexedDataInParallel(file, TestCsvRow.class, headers_5, fields_5));
+    //then
+    Assertions.assertEquals(4, exception.getLine());
+    Assertions.assertEquals("hod002,broken row", exception.getContent());
+  }
+
   @Test
   void shouldNotTrimCsvNotInTheEnd() throws CsvException {
     List<TestCsvRow> result = csvService.readIndexedData(
@@ -299,6 +1023,23 @@ class CsvServiceTest {
     Assertions.assertEquals(39, result.length);
   }
 
+  @Test
+  void shouldExportErrorReportToOutputStream() {
+    //given
+    HashMap errors = new HashMap<>();
+    List<String> errorsList = List.of("salePrice.empty");
+    errors.put(1, errorsList);
+    when(messageService.getMessages(errorsList)).thenReturn(List.of("Sale Price is Empty"));
+    List<CsvRow> entities = new ArrayList<>();
+    entities.add(new TestCsvRow("name", "7Z46", "1234567890", "", ""));
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    //when
+    csvService.exportErrorReport(output, errors, entities, headers_5, emptyList());
+
+    //then
+    Assertions.assertEquals(78, output.size());
+  }
+
   @Test
   void shouldExportErrorReportAndRemoveCsvSpecificSymbols() {
     //given
@@ -315,6 +1056,45 @@ class CsvServiceTest {
     Assertions.assertEquals(79, result.length);
   }
 
+  @Test
+  void shouldResolveEachErrorCodeOnceAndExportInParallel() {
+    //given
+    Map<Integer, List<String>> errors = new HashMap<>();
+    List<CsvRow> entities = new ArrayList<>();
+    for (int i = 1; i <= 5000; i++) {
+      TestCsvRow row = new TestCsvRow("name" + i, "7Z46", "1234567890", "", "");
+      row.setIndex(i);
+      entities.add(row);
+      errors.put(i, i % 2 == 0 ? List.of("salePrice.empty", "article.empty")
+          : List.of("salePrice.empty"));
+    }
+    when(messageService.getMessages(List.of("salePrice.empty", "article.empty")))
+        .thenReturn(List.of("Sale Price is Empty", "Article is Empty"));
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    //when
+    byte[] sequential = csvService.exportErrorReport(errors, entities, headers_5);
+    csvService.exportErrorReport(output, errors, entities, headers_5, emptyList(),
+        new ForkJoinPool(3));
+    //then
+    Assertions.assertArrayEquals(sequential, output.toByteArray());
+    assertThat(new String(sequential, StandardCharsets.UTF_8))
+        .contains("name2,7Z46,1234567890,,,Sale Price is Empty,Article is Empty\r\n");
+    verify(messageService, times(2)).getMessages(anyList());
+  }
+
+  @Test
+  void shouldReadTableEqualToMaps() throws Exception {
+    //given
+    String csvSource = "A,B,C\na1,b,\na2,b,\"c,2\"\n";
+    //when
+    CsvTable table = csvService.readToTable(csvSource, CsvPreference.STANDARD_PREFERENCE);
+    //then
+    Assertions.assertEquals(csvService.readToMap(csvSource, CsvPreference.STANDARD_PREFERENCE),
+        table);
+    Assertions.assertEquals(List.of("b", "b"), table.getColumn("B"));
+    Assertions.assertEquals("c,2", table.get(1).get("C"));
+  }
+
   @Test
   void shouldReadDataToMap() throws Exception {
     //given
@@ -333,6 +1113,209 @@ class CsvServiceTest {
     assertThat(csvRow.get("ColumnCHeader")).isEqualTo("ColumnCRow1Value");
   }
 
+  @Test
+  void shouldReadDataToMapFromInputStream() throws Exception {
+    //given
+    InputStream csvSource = new ByteArrayInputStream(
+        """
+            ColumnAHeader,ColumnBHeader
+            ColumnARow1Value,ColumnBRow1Value
+            ColumnARow2Value,ColumnBRow2Value
+            """.getBytes(StandardCharsets.UTF_8));
+    //when
+    List<Map<String, String>> csvRowsData = csvService.readToMap(csvSource,
+        CsvPreference.STANDARD_PREFERENCE);
+    //then
+    assertThat(csvRowsData).hasSize(2);
+    assertThat(csvRowsData.get(1).get("ColumnBHeader")).isEqualTo("ColumnBRow2Value");
+  }
+
+  @Test
+  void shouldBindReorderedColumnsByHeaderName() throws CsvException {
+    //given
+    String csv = "Sale Price,Article,Name,Purchase Price,Product Group\nek1,a1,hod001,,7z46";
+    //when
+    List<TestCsvRow> result = csvService.readIndexedData(csv, TestCsvRow.class, headers_5,
+        fields_5, getCellProcessors());
+    //then
+    Assertions.assertEquals("hod001", result.get(0).getName());
+    Assertions.assertEquals("7Z46", result.get(0).getProductGroup());
+    Assertions.assertEquals("EK1", result.get(0).getSalePrice());
+    Assertions.assertEquals("a1", result.get(0).getArticle());
+  }
+
+  @Test
+  void shouldBindReorderedColumnsByHeaderNameOnReadData() {
+    //given
+    String csv = "Product Group,Name,Sale Price,Purchase Price,Article\n7z46,hod001,ek1,,";
+    //when
+    List<TestCsvRow> result = csvService.readData(csv, TestCsvRow.class, headers_5, fields_5,
+        getCellProcessors());
+    //then
+    Assertions.assertEquals("hod001", result.get(0).getName());
+    Assertions.assertEquals("7Z46", result.get(0).getProductGroup());
+  }
+
+  @Test
+  void shouldThrowExceptionIfFileHasExtraColumn() {
+    //given
+    String csv = "Name,Comment,Product Group,Sale Price,Purchase Price,Article\nhod001,x,7Z46,1,,";
+    //when
+    CsvException exception = Assertions.assertThrows(CsvException.class,
+        () -> csvService.readIndexedData(csv, TestCsvRow.class, headers_5, fields_5));
+    //then
+    Assertions.assertEquals(2, exception.getLine());
+    Assertions.assertEquals("Comment", exception.getContent());
+  }
+
+  @Test
+  void shouldIgnoreExtraColumnsWhenAllowed() throws CsvException {
+    //given
+    String csv = "Name,Comment,Product Group,Sale Price,Purchase Price,Article\nhod001,x,7z46,1,,";
+    CsvImportOptions options = CsvImportOptions.builder()
+        .allowExtraColumns(true)
+        .build();
+    //when
+    List<TestCsvRow> result = csvService.readIndexedData(csv, TestCsvRow.class, headers_5,
+        fields_5, options, getCellProcessors());
+    //then
+    Assertions.assertEquals("hod001", result.get(0).getName());
+    Assertions.assertEquals("7Z46", result.get(0).getProductGroup());
+    Assertions.assertEquals("1", result.get(0).getSalePrice());
+  }
+
+  @Test
+  void shouldReadOnlyExpectedColumnsOfWideFile() throws CsvException {
+    //given
+    String csv = "A,Name,B,Product Group,Sale Price,\"C\",Purchase Price,Article,D\n"
+        + "1,hod001,\"x\"\"\",7z46,ek1,\"multi\nline\",,,4\n";
+    CsvImportOptions options = CsvImportOptions.builder()
+        .engine(CsvParserEngine.CHAR_WINDOW)
+        .allowExtraColumns(true)
+        .build();
+    //when
+    List<TestCsvRow> result = csvService.readIndexedData(csv, TestCsvRow.class, headers_5,
+        fields_5, options, getCellProcessors());
+    //then
+    Assertions.assertEquals(1, result.size());
+    Assertions.assertEquals("hod001", result.get(0).getName());
+    Assertions.assertEquals("7Z46", result.get(0).getProductGroup());
+    Assertions.assertEquals("EK1", result.get(0).getSalePrice());
+    Assertions.assertNull(result.get(0).getArticle());
+  }
+
+  @Test
+  void shouldImportOnlyRowsAcceptedByFilter() throws CsvException {
+    //given
+    String csv = headers_5_String + "hod001,7z46,1,,\nhod002,7z47,2,,\nhod003,7z46,3,,";
+    CsvImportOptions options = CsvImportOptions.builder()
+        .rowFilter(CsvRowFilter.in("Product Group", List.of("7z46")))
+        .build();
+    //when
+    List<TestCsvRow> result = csvService.readIndexedData(csv, TestCsvRow.class, headers_5,
+        fields_5, options, getCellProcessors());
+    //then
+    Assertions.assertEquals(2, result.size());
+    Assertions.assertEquals("hod001", result.get(0).getName());
+    Assertions.assertEquals(2, result.get(0).getIndex());
+    Assertions.assertEquals("hod003", result.get(1).getName());
+    Assertions.assertEquals(4, result.get(1).getIndex());
+  }
+
+  @Test
+  void shouldFilterRowsOnColumnWhichIsNotImported() throws CsvException {
+    //given
+    String csv = "Name,Status,Product Group,Sale Price,Purchase Price,Article\n"
+        + "hod001,ACTIVE,7z46,1,,\nhod002,\"DELETED\",7z47,2,,\nhod003,,7z48,3,,";
+    CsvImportOptions options = CsvImportOptions.builder()
+        .engine(CsvParserEngine.CHAR_WINDOW)
+        .allowExtraColumns(true)
+        .rowFilter(CsvRowFilter.of("Status", status -> !"DELETED".contentEquals(
+            status == null ? "" : status)))
+        .build();
+    //when
+    List<TestCsvRow> result = csvService.readIndexedData(csv, TestCsvRow.class, headers_5,
+        fields_5, options);
+    //then
+    Assertions.assertEquals(List.of("hod001", "hod003"),
+        result.stream().map(TestCsvRow::getName).toList());
+    Assertions.assertEquals(4, result.get(1).getIndex());
+  }
+
+  @Test
+  void shouldThrowExceptionIfFilterHeaderIsMissing() {
+    //given
+    CsvImportOptions options = CsvImportOptions.builder()
+        .rowFilter(CsvRowFilter.in("Status", List.of("ACTIVE")))
+        .build();
+    //when
+    CsvException exception = Assertions.assertThrows(CsvException.class,
+        () -> csvService.readIndexedData(headers_5_String + "hod001,7Z46,1,,", TestCsvRow.class,
+            headers_5, fields_5, options));
+    //then
+    Assertions.assertEquals(CSV_IMPORT_INVALID_HEADERS, exception.getMessage());
+    Assertions.assertEquals(6, exception.getLine());
+    Assertions.assertEquals("Status", exception.getContent());
+  }
+
+  @Test
+  void shouldThrowExceptionIfReadToMapFilterHeaderIsMissing() {
+    //given
+    String csv = "Warehouse,Article\nWH1,a1\n";
+    //when
+    IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+        () -> csvService.readToMap(new StringReader(csv), CsvPreference.STANDARD_PREFERENCE,
+            CsvRowFilter.of(List.of("Warehouse", "Status"), cells -> true)));
+    //then
+    Assertions.assertEquals("Filter header 'Status' is not in the file", exception.getMessage());
+  }
+
+  @Test
+  void shouldReadToMapOnlyRowsAcceptedByFilter() throws IOException {
+    //given
+    String csv = "Warehouse,Article\nWH1,a1\nWH2,a2\nWH1,a3\n";
+    //when
+    List<Map<String, String>> result = csvService.readToMap(new StringReader(csv),
+        CsvPreference.STANDARD_PREFERENCE, CsvRowFilter.in("Warehouse", List.of("WH1")));
+    //then
+    Assertions.assertEquals(List.of(Map.of("Warehouse", "WH1", "Article", "a1"),
+        Map.of("Warehouse", "WH1", "Article", "a3")), result);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"SUPER_CSV", "CHAR_WINDOW"})
+  void shouldShareStringsOfDeduplicatedColumns(String engine) throws CsvException {
+    //given
+    String csv = headers_5_String + "hod001,7z46,1,,a\nhod002,7z46,2,,a\nhod003,7z46,3,,a";
+    CsvImportOptions options = CsvImportOptions.builder()
+        .engine(CsvParserEngine.valueOf(engine))
+        .deduplicatedColumns(Set.of("Product Group", "Article"))
+        .build();
+    //when
+    List<TestCsvRow> result = csvService.readIndexedData(csv, TestCsvRow.class, headers_5,
+        fields_5, options, getCellProcessors());
+    //then
+    Assertions.assertEquals("7Z46", result.get(0).getProductGroup());
+    Assertions.assertSame(result.get(0).getProductGroup(), result.get(2).getProductGroup());
+    Assertions.assertSame(result.get(0).getArticle(), result.get(1).getArticle());
+    Assertions.assertNotSame(result.get(0).getSalePrice(), result.get(1).getSalePrice());
+  }
+
+  @Test
+  void shouldReportMissingHeader() {
+    //given
+    String csv = "Name,Product Group,Sale Price,Article\nhod001,7Z46,1,";
+    CsvImportOptions options = CsvImportOptions.builder()
+        .allowExtraColumns(true)
+        .build();
+    //when
+    CsvException exception = Assertions.assertThrows(CsvException.class,
+        () -> csvService.readIndexedData(csv, TestCsvRow.class, headers_5, fields_5, options));
+    //then
+    Assertions.assertEquals(4, exception.getLine());
+    Assertions.assertEquals("Purchase Price", exception.getContent());
+  }
+
   @Test
   void shouldThrowExceptionIfHeadersIncorrect() {
     //given
@@ -2,6 +2,8 @@ package warehouse.com.csv.service;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static warehouse.com.csv.TestConstants.MESSAGE_CODE;
 import static warehouse.com.csv.TestConstants.MESSAGE_FROM_PROPERTIES;
@@ -15,6 +17,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
+import org.springframework.context.support.StaticMessageSource;
+import warehouse.com.csv.config.MessageCacheProperties;
 
 @ExtendWith(MockitoExtension.class)
 class MessageServiceTest {
@@ -51,4 +55,76 @@ class MessageServiceTest {
     //then
     Assertions.assertEquals(MESSAGE_FROM_PROPERTIES, result.get(0));
   }
+
+  @Test
+  void shouldResolveRepeatedMessageOnce() {
+    //given
+    when(messageSource.getMessage(eq(MESSAGE_CODE), any(), eq(MESSAGE_CODE),
+        eq(Locale.getDefault())))
+        .thenReturn(MESSAGE_FROM_PROPERTIES);
+
+    //when
+    List<String> result = messageService.getMessages(List.of(MESSAGE_CODE, MESSAGE_CODE));
+
+    //then
+    Assertions.assertEquals(List.of(MESSAGE_FROM_PROPERTIES, MESSAGE_FROM_PROPERTIES), result);
+    verify(messageSource, times(1)).getMessage(eq(MESSAGE_CODE), any(), eq(MESSAGE_CODE),
+        eq(Locale.getDefault()));
+    Assertions.assertEquals(1, messageService.getCacheStats().hitCount());
+    Assertions.assertEquals(1, messageService.getCacheStats().missCount());
+  }
+
+  @Test
+  void shouldCacheMessagesPerLocaleAndArguments() {
+    //given
+    when(messageSource.getMessage(eq(MESSAGE_CODE), any(), eq(MESSAGE_CODE), eq(Locale.GERMAN)))
+        .thenReturn("german");
+    when(messageSource.getMessage(eq(MESSAGE_CODE), any(), eq(MESSAGE_CODE), eq(Locale.FRENCH)))
+        .thenReturn("french");
+
+    //when
+    String german = messageService.getMessage(Locale.GERMAN, MESSAGE_CODE, 1);
+    String french = messageService.getMessage(Locale.FRENCH, MESSAGE_CODE, 1);
+    String germanWithOtherArgument = messageService.getMessage(Locale.GERMAN, MESSAGE_CODE, 2);
+
+    //then
+    Assertions.assertEquals("german", german);
+    Assertions.assertEquals("french", french);
+    Assertions.assertEquals("german", germanWithOtherArgument);
+    Assertions.assertEquals(3, messageService.getCacheStats().missCount());
+  }
+
+  @Test
+  void shouldResolveAgainAfterClearingCache() {
+    //given
+    when(messageSource.getMessage(eq(MESSAGE_CODE), any(), eq(MESSAGE_CODE),
+        eq(Locale.getDefault())))
+        .thenReturn(MESSAGE_FROM_PROPERTIES);
+    messageService.getMessage(MESSAGE_CODE);
+
+    //when
+    messageService.clearCache();
+    String result = messageService.getMessage(MESSAGE_CODE);
+
+    //then
+    Assertions.assertEquals(MESSAGE_FROM_PROPERTIES, result);
+    verify(messageSource, times(2)).getMessage(eq(MESSAGE_CODE), any(), eq(MESSAGE_CODE),
+        eq(Locale.getDefault()));
+  }
+
+  @Test
+  void shouldEvictMessagesBeyondMaximumSize() {
+    //given
+    MessageService service = new MessageService(new StaticMessageSource(),
+        new MessageCacheProperties(1));
+
+    //when
+    service.getMessage("first");
+    service.getMessage("second");
+    service.getMessage("first");
+
+    //then
+    Assertions.assertEquals(3, service.getCacheStats().missCount());
+    Assertions.assertTrue(service.getCacheStats().evictionCount() > 0);
+  }
 }